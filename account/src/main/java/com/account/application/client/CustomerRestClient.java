@@ -1,5 +1,7 @@
 package com.account.application.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,13 +12,19 @@ import org.springframework.web.bind.annotation.RequestParam;
 import com.commons.dto.request.SaveCustomer;
 import com.commons.dto.response.GetCustomerDetail;
 
-@FeignClient(name = "${feign.clients.customer.name}", url = "${feign.clients.customer.url}/api/v1/customers")
+@FeignClient(name = "${feign.clients.customer.name}", url = "${feign.clients.customer.url}/api/v1/customers", fallbackFactory = CustomerRestClientFallbackFactory.class)
 public interface CustomerRestClient {
 
     @PostMapping
     ResponseEntity<GetCustomerDetail> save(@RequestBody SaveCustomer saveCustomer);
 
-    @GetMapping
+    @GetMapping("/detail")
     ResponseEntity<GetCustomerDetail> findByEmail(@RequestParam String email);
 
+    /**
+     * Obtiene varios clientes por ID en un solo pedido.
+     */
+    @GetMapping("/batch")
+    ResponseEntity<List<GetCustomerDetail>> findAllByIds(@RequestParam List<Long> ids);
+
 }
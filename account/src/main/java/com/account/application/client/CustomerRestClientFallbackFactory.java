@@ -0,0 +1,71 @@
+package com.account.application.client;
+
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.account.application.exceptions.CustomerServiceException;
+import com.account.infraestructura.config.CacheConfig;
+import com.commons.dto.request.SaveCustomer;
+import com.commons.dto.response.GetCustomerDetail;
+
+import feign.FeignException;
+
+/**
+ * Respuesta de respaldo de {@link CustomerRestClient} cuando el circuit breaker
+ * está abierto, el bulkhead rechaza la llamada o el servicio de clientes no
+ * responde.
+ *
+ * Las respuestas HTTP de error del servicio (por ejemplo 404) se propagan tal
+ * cual, porque son respuestas válidas y no una falla de transporte. Ante una
+ * falla, la búsqueda por email responde con el último cliente conocido si está
+ * en la caché de respaldo; la creación nunca se simula y falla de inmediato.
+ */
+@Component
+public class CustomerRestClientFallbackFactory implements FallbackFactory<CustomerRestClient> {
+
+    private final Cache staleCustomersByEmail;
+
+    public CustomerRestClientFallbackFactory(CacheManager cacheManager) {
+        this.staleCustomersByEmail = cacheManager.getCache(CacheConfig.STALE_CUSTOMERS_BY_EMAIL);
+    }
+
+    @Override
+    public CustomerRestClient create(Throwable cause) {
+        return new CustomerRestClient() {
+
+            @Override
+            public ResponseEntity<GetCustomerDetail> save(SaveCustomer saveCustomer) {
+                rethrowHttpError(cause);
+                throw new CustomerServiceException("Servicio de clientes no disponible", cause);
+            }
+
+            @Override
+            public ResponseEntity<GetCustomerDetail> findByEmail(String email) {
+                rethrowHttpError(cause);
+                GetCustomerDetail stale = staleCustomersByEmail.get(email, GetCustomerDetail.class);
+                if (stale == null) {
+                    throw new CustomerServiceException("Servicio de clientes no disponible", cause);
+                }
+                return ResponseEntity.ok(stale);
+            }
+
+            @Override
+            public ResponseEntity<List<GetCustomerDetail>> findAllByIds(List<Long> ids) {
+                // los listados se degradan a cuentas sin datos del dueño
+                rethrowHttpError(cause);
+                return ResponseEntity.ok(List.of());
+            }
+        };
+    }
+
+    private static void rethrowHttpError(Throwable cause) {
+        if (cause instanceof FeignException ex && ex.status() >= 400) {
+            throw ex;
+        }
+    }
+}
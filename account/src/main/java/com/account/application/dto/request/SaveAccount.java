@@ -10,12 +10,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 public record SaveAccount(
-                @JsonProperty(value = "account_number") @NotBlank(message = "{generic.notBlank}") @Size(max = 30, message = "{generic.size}") String accountNumber,
+                @JsonProperty(value = "account_number") @Size(max = 30, message = "{generic.size}") String accountNumber,
 
                 @JsonProperty(value = "account_type") @NotNull(message = "{generic.notNull}") AccountType accountType,
 
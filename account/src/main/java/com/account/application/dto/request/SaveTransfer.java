@@ -0,0 +1,23 @@
+package com.account.application.dto.request;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record SaveTransfer(
+                @JsonProperty(value = "source_account") @NotBlank(message = "{generic.notBlank}") @Size(max = 30, message = "{generic.size}") String sourceAccount,
+
+                @JsonProperty(value = "target_account") @NotBlank(message = "{generic.notBlank}") @Size(max = 30, message = "{generic.size}") String targetAccount,
+
+                @NotNull(message = "{generic.notNull}") @Positive(message = "{generic.positive}") @Digits(integer = 17, fraction = 2, message = "{generic.digits}") BigDecimal amount
+
+) implements Serializable {
+
+}
@@ -0,0 +1,22 @@
+package com.account.application.dto.response;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Saldo de una cuenta a un instante dado, calculado desde el libro de
+ * transacciones.
+ *
+ * @param accountNumber número de cuenta
+ * @param balance       saldo de la cuenta a ese instante
+ * @param at            instante consultado
+ */
+public record AccountBalanceAt(
+        @JsonProperty(value = "account_number") String accountNumber,
+        BigDecimal balance,
+        LocalDateTime at) implements Serializable {
+
+}
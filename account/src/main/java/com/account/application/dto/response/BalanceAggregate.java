@@ -0,0 +1,22 @@
+package com.account.application.dto.response;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Total de cuentas activas y de saldo para un tipo y estado de cuenta.
+ *
+ * @param accountType tipo de cuenta
+ * @param status      estado de la cuenta
+ * @param accounts    cantidad de cuentas activas
+ * @param balance     saldo total, incluidos los sub-saldos
+ */
+public record BalanceAggregate(
+        @JsonProperty(value = "account_type") String accountType,
+        String status,
+        long accounts,
+        BigDecimal balance) implements Serializable {
+
+}
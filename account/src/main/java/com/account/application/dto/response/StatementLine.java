@@ -0,0 +1,25 @@
+package com.account.application.dto.response;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Movimiento del extracto de una cuenta.
+ *
+ * @param id        ID del movimiento en el libro de transacciones
+ * @param createdAt fecha del movimiento
+ * @param type      tipo de movimiento
+ * @param amount    monto; negativo si debita la cuenta
+ * @param reference referencia del movimiento, si tiene
+ */
+public record StatementLine(
+        long id,
+        @JsonProperty(value = "created_at") LocalDateTime createdAt,
+        String type,
+        BigDecimal amount,
+        String reference) implements Serializable {
+
+}
@@ -0,0 +1,23 @@
+package com.account.application.dto.response;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.commons.dto.response.GetAccount;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado de una transferencia entre cuentas.
+ *
+ * @param reference referencia de la transferencia en el libro de transacciones
+ * @param amount    monto transferido
+ * @param source    cuenta de origen después del débito
+ * @param target    cuenta de destino después del crédito
+ */
+public record TransferResult(
+        String reference,
+        BigDecimal amount,
+        @JsonProperty(value = "source_account") GetAccount source,
+        @JsonProperty(value = "target_account") GetAccount target) implements Serializable {
+
+}
@@ -0,0 +1,7 @@
+package com.account.application.exceptions;
+
+public class IdempotencyKeyConflictException extends AccountServiceException {
+    public IdempotencyKeyConflictException(String idempotencyKey) {
+        super("La clave de idempotencia ya fue usada con otro depósito: " + idempotencyKey);
+    }
+}
@@ -0,0 +1,7 @@
+package com.account.application.exceptions;
+
+public class InsufficientFundsException extends AccountServiceException {
+    public InsufficientFundsException(String accountNumber) {
+        super("Saldo insuficiente en la cuenta: " + accountNumber);
+    }
+}
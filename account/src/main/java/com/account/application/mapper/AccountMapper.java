@@ -1,5 +1,7 @@
 package com.account.application.mapper;
 
+import java.math.BigDecimal;
+
 import com.account.application.dto.request.SaveAccount;
 import com.account.application.dto.response.FullAccountInfo;
 import com.account.domain.persistence.Account;
@@ -12,20 +14,33 @@ public class AccountMapper {
         if (account == null)
             return null;
 
+        return toGetDto(account, account.getBalance());
+    }
+
+    public static GetAccount toGetDto(Account account, BigDecimal balance) {
+        if (account == null)
+            return null;
+
         return new GetAccount(
                 account.getId(),
                 account.getAccountNumber(),
                 account.getAccountType().toString(),
                 account.getStatus().toString(),
-                account.getBalance(),
+                balance,
                 account.getCustomerId());
     }
 
     public static Account toEntityFromDto(SaveAccount saveAccount, Long customerId) {
+        if (saveAccount == null)
+            return null;
+        return toEntityFromDto(saveAccount, customerId, saveAccount.accountNumber());
+    }
+
+    public static Account toEntityFromDto(SaveAccount saveAccount, Long customerId, String accountNumber) {
         if (saveAccount == null)
             return null;
         return Account.builder()
-                .accountNumber(saveAccount.accountNumber())
+                .accountNumber(accountNumber)
                 .accountType(saveAccount.accountType())
                 .status(saveAccount.status())
                 .balance(saveAccount.balance())
@@ -35,6 +50,12 @@ public class AccountMapper {
     }
 
     public static FullAccountInfo toDtoFromEntity(Account account, GetCustomerDetail customer) {
+        if (account == null)
+            return null;
+        return toDtoFromEntity(account, account.getBalance(), customer);
+    }
+
+    public static FullAccountInfo toDtoFromEntity(Account account, BigDecimal balance, GetCustomerDetail customer) {
         if (account == null)
             return null;
         return new FullAccountInfo(
@@ -42,7 +63,7 @@ public class AccountMapper {
                 account.getAccountNumber(),
                 account.getAccountType().toString(),
                 account.getStatus().toString(),
-                account.getBalance(),
+                balance,
                 customer);
 
     }
@@ -1,8 +1,16 @@
 package com.account.application.service;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import com.account.application.dto.request.SaveAccount;
+import com.account.application.dto.request.SaveTransfer;
+import com.account.application.dto.response.AccountBalanceAt;
+import com.account.application.dto.response.BalanceAggregate;
 import com.account.application.dto.response.FullAccountInfo;
+import com.account.application.dto.response.TransferResult;
 import com.commons.dto.request.Deposito;
+import com.commons.dto.response.CursorPage;
 import com.commons.dto.response.GetAccount;
 
 import org.springframework.data.domain.Page;
@@ -23,6 +31,35 @@ public interface AccountService {
      */
     Page<GetAccount> findAll(Pageable pageable);
 
+    /**
+     * Obtiene las cuentas activas paginadas por cursor (keyset), ordenadas por
+     * fecha de creación. El costo de cada página no depende de su profundidad.
+     *
+     * @param cursor token devuelto por la página anterior; vacío para la primera
+     * @param size   tamaño de página
+     * @return página de cuentas con el cursor de la siguiente
+     */
+    CursorPage<GetAccount> findAll(String cursor, int size);
+
+    /**
+     * Obtiene todas las cuentas activas de forma paginada junto con los datos de
+     * sus dueños, resueltos en un solo pedido al servicio de clientes.
+     *
+     * @param pageable objeto de paginación y orden
+     * @return página de cuentas con sus dueños
+     */
+    Page<FullAccountInfo> findAllWithCustomers(Pageable pageable);
+
+    /**
+     * Obtiene las cuentas activas paginadas por cursor junto con los datos de sus
+     * dueños, resueltos en un solo pedido al servicio de clientes.
+     *
+     * @param cursor token devuelto por la página anterior; vacío para la primera
+     * @param size   tamaño de página
+     * @return página de cuentas con sus dueños y el cursor de la siguiente
+     */
+    CursorPage<FullAccountInfo> findAllWithCustomers(String cursor, int size);
+
     /**
      * Crea una nueva cuenta asociada a un cliente.
      *
@@ -40,6 +77,26 @@ public interface AccountService {
 
     GetAccount depositInAccount(Deposito deposito);
 
+    /**
+     * Realiza un depósito idempotente en una cuenta. Un reintento con la misma
+     * clave devuelve la respuesta original sin volver a aplicar el depósito.
+     *
+     * @param deposito       DTO con los datos necesarios
+     * @param idempotencyKey clave de idempotencia del pedido; si es {@code null}
+     *                       el depósito no es idempotente
+     * @return DTO con información de la cuenta después del depósito
+     */
+    GetAccount depositInAccount(Deposito deposito, String idempotencyKey);
+
+    /**
+     * Transfiere fondos entre dos cuentas. Ambos movimientos se aplican en una
+     * única transacción.
+     *
+     * @param transfer DTO con las cuentas de origen y destino y el monto
+     * @return DTO con el estado de ambas cuentas después de la transferencia
+     */
+    TransferResult transfer(SaveTransfer transfer);
+
     /**
      * Busca una cuenta por su número.
      *
@@ -48,6 +105,51 @@ public interface AccountService {
      */
     GetAccount findByNumber(String number);
 
+    /**
+     * Busca una cuenta por su número incluyendo las dadas de baja y las
+     * archivadas.
+     *
+     * @param number número de cuenta
+     * @return DTO con los datos de la cuenta
+     */
+    GetAccount findByNumberIncludingArchived(String number);
+
+    /**
+     * Indica si existe una cuenta activa con el número dado.
+     *
+     * @param number número de cuenta
+     * @return {@code true} si la cuenta existe
+     */
+    boolean existsByNumber(String number);
+
+    /**
+     * Obtiene el saldo de una cuenta a un instante dado a partir del libro de
+     * transacciones.
+     *
+     * @param number número de cuenta
+     * @param at     instante a consultar; {@code null} para el saldo actual
+     * @return saldo de la cuenta a ese instante
+     */
+    AccountBalanceAt balanceAt(String number, LocalDateTime at);
+
+    /**
+     * Obtiene la cantidad de cuentas activas y el saldo total por tipo y estado
+     * de cuenta.
+     *
+     * @return totales por tipo y estado
+     */
+    List<BalanceAggregate> balanceAggregates();
+
+    /**
+     * Promueve una cuenta al modo de sub-saldos o la devuelve al modo normal.
+     * El saldo acumulado en los slots anteriores se consolida en el saldo base.
+     *
+     * @param number número de cuenta
+     * @param slots  cantidad de sub-saldos; 0 vuelve al modo normal
+     * @return DTO con los datos de la cuenta
+     */
+    GetAccount configureBalanceSlots(String number, int slots);
+
     /**
      * Realiza una eliminación lógica de una cuenta.
      *
@@ -0,0 +1,22 @@
+package com.account.application.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Servicio de carga masiva de depósitos en formato NDJSON.
+ */
+public interface BulkDepositService {
+
+    /**
+     * Lee depósitos ({@code BulkDeposit}) desde un flujo NDJSON, uno por línea, los
+     * aplica en lotes y escribe un resultado NDJSON por registro a medida que cada
+     * lote se confirma.
+     *
+     * @param input  flujo de entrada con un depósito JSON por línea
+     * @param output flujo de salida donde se escribe un resultado por línea
+     * @throws IOException si falla la lectura o la escritura de los flujos
+     */
+    void depositAll(InputStream input, OutputStream output) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.account.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import com.account.domain.util.StatementFormat;
+
+/**
+ * Servicio de exportación del extracto de una cuenta desde el libro de
+ * transacciones.
+ */
+public interface StatementService {
+
+    /**
+     * Escribe los movimientos de una cuenta, ordenados por fecha, a medida que se
+     * leen de la base.
+     *
+     * @param number número de cuenta
+     * @param format formato de salida
+     * @param from   inicio del período, inclusive; {@code null} desde la apertura
+     * @param to     fin del período, exclusive; {@code null} hasta el presente
+     * @param output flujo de salida del extracto
+     * @throws IOException      si falla la escritura del flujo
+     * @throws RuntimeException si no se encuentra la cuenta
+     */
+    void writeStatement(String number, StatementFormat format, LocalDateTime from, LocalDateTime to,
+            OutputStream output) throws IOException;
+}
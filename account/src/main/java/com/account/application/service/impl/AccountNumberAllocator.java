@@ -0,0 +1,126 @@
+package com.account.application.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asignador de números de cuenta por bloques.
+ *
+ * Cada instancia reserva un bloque de números correlativos con un único
+ * {@code nextval} sobre {@code account_number_seq} y lo reparte desde memoria
+ * con un {@link AtomicLong}: asignar un número no toma locks ni va a la base.
+ * Solo quien agota el bloque reserva el siguiente, bajo un lock que los demás
+ * esperan únicamente en ese momento. Como la secuencia nunca entrega dos veces
+ * el mismo bloque, dos instancias no pueden generar el mismo número; los
+ * números de un bloque que no se llegan a usar se pierden al reiniciar.
+ *
+ * El número tiene el prefijo configurado, el correlativo con
+ * {@value #SERIAL_DIGITS} dígitos y un dígito verificador Luhn.
+ */
+@Component
+public class AccountNumberAllocator {
+
+    private static final int SERIAL_DIGITS = 12;
+
+    private static final String NEXT_BLOCK = "SELECT nextval('account_number_seq')";
+
+    private static final String BLOCK_SIZE = "SELECT increment_by FROM pg_sequences "
+            + "WHERE sequencename = 'account_number_seq'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String prefix;
+    private final AtomicReference<Block> block = new AtomicReference<>(Block.EMPTY);
+    // ReentrantLock en lugar de synchronized: no fija hilos virtuales
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private long blockSize;
+
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate,
+            @Value("${account.number.prefix:10}") String prefix) {
+        if (!prefix.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("El prefijo de número de cuenta debe ser numérico");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Asigna un número de cuenta nuevo.
+     *
+     * @return número de cuenta con dígito verificador
+     */
+    public String next() {
+        while (true) {
+            Block current = block.get();
+            long serial = current.next.getAndIncrement();
+            if (serial < current.end) {
+                return format(serial);
+            }
+            lease(current);
+        }
+    }
+
+    /**
+     * Reserva un bloque nuevo si el vigente sigue siendo {@code exhausted}; si
+     * otro hilo ya lo reemplazó no hace nada.
+     */
+    private void lease(Block exhausted) {
+        leaseLock.lock();
+        try {
+            if (block.get() != exhausted) {
+                return;
+            }
+            if (blockSize == 0) {
+                blockSize = jdbcTemplate.queryForObject(BLOCK_SIZE, Long.class);
+            }
+            long start = jdbcTemplate.queryForObject(NEXT_BLOCK, Long.class);
+            block.set(new Block(start, start + blockSize));
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    private String format(long serial) {
+        String body = prefix + String.format("%0" + SERIAL_DIGITS + "d", serial);
+        return body + luhnDigit(body);
+    }
+
+    /**
+     * Dígito verificador Luhn (módulo 10) de una cadena de dígitos.
+     */
+    static int luhnDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Rango {@code [next, end)} de correlativos reservados.
+     */
+    private static final class Block {
+        private static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.account.application.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.account.domain.repository.AccountRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Filtro de Bloom en memoria sobre los números de las cuentas activas.
+ *
+ * Responde "seguro que no existe" sin ir a la base; un "puede existir" se
+ * confirma con la consulta. Los bits viven en un {@link AtomicLongArray} y se
+ * encienden con CAS, de modo que las altas y las consultas concurrentes no
+ * toman ningún lock.
+ *
+ * Se construye al arrancar y se reconstruye periódicamente, dimensionado para
+ * la cantidad actual de cuentas, lo que además descarta los números de cuentas
+ * dadas de baja. Mientras se reconstruye, las altas se registran en el filtro
+ * vigente y en el nuevo.
+ *
+ * Las altas hechas desde otras instancias se incorporan con un refresco corto
+ * que lee las cuentas creadas desde el último refresco. La marca se retrocede
+ * {@code refresh-overlap-ms} para cubrir transacciones que confirman después
+ * de que pasó su {@code created_at} y diferencias de reloj entre instancias;
+ * volver a registrar un número no cambia el filtro.
+ *
+ * Por eso un "no está" del filtro solo es seguro para las cuentas anteriores a
+ * esa marca: antes de responderlo se consultan las cuentas creadas desde la
+ * marca, un rango de pocos segundos de altas. Así una cuenta recién creada en
+ * otra instancia nunca se informa como inexistente.
+ */
+@Component
+public class AccountNumberFilter implements MeterBinder {
+
+    private final AccountRepository accountRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration refreshOverlap;
+    private final AtomicLong negatives = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private volatile Bits current;
+    private volatile Bits building;
+
+    public AccountNumberFilter(AccountRepository accountRepository,
+            @Value("${account.number-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${account.number-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${account.number-filter.refresh-overlap-ms:60000}") long refreshOverlapMs) {
+        this.accountRepository = accountRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlap = Duration.ofMillis(refreshOverlapMs);
+    }
+
+    /**
+     * @return {@code false} si el número seguro no pertenece a una cuenta activa;
+     *         {@code true} si puede pertenecer, si pertenece a una cuenta creada
+     *         desde el último refresco, o si el filtro todavía no se construyó
+     */
+    public boolean mightContain(String accountNumber) {
+        Bits bits = current;
+        if (bits == null || bits.mightContain(accountNumber)) {
+            return true;
+        }
+        // los bits y su marca se leen del mismo filtro: la marca cubre lo que tienen esos bits
+        if (accountRepository.existsByAccountNumberCreatedSince(accountNumber,
+                bits.refreshedUntil.minus(refreshOverlap))) {
+            return true;
+        }
+        negatives.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Registra el resultado de la consulta hecha tras un "puede existir", para
+     * medir la tasa real de falsos positivos.
+     */
+    public void recordLookup(boolean exists) {
+        if (!exists) {
+            falsePositives.incrementAndGet();
+        }
+    }
+
+    public void put(String accountNumber) {
+        Bits next = building;
+        if (next != null) {
+            next.put(accountNumber);
+        }
+        Bits bits = current;
+        if (bits != null) {
+            bits.put(accountNumber);
+        }
+    }
+
+    /**
+     * Construye un filtro nuevo desde la base y lo publica en reemplazo del
+     * vigente.
+     */
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${account.number-filter.rebuild-ms:3600000}",
+            fixedDelayString = "${account.number-filter.rebuild-ms:3600000}")
+    public void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        long accounts = accountRepository.count();
+        Bits next = new Bits(Math.max(expectedInsertions, accounts * 2), falsePositiveRate);
+        building = next;
+        try (Stream<String> numbers = accountRepository.streamActiveAccountNumbers()) {
+            numbers.forEach(next::put);
+        }
+        next.refreshedUntil = start;
+        current = next;
+        building = null;
+    }
+
+    /**
+     * Registra en el filtro las cuentas creadas desde el último refresco o
+     * reconstrucción, incluidas las dadas de alta por otras instancias.
+     */
+    @Transactional(readOnly = true)
+    @Scheduled(initialDelayString = "${account.number-filter.refresh-ms:5000}",
+            fixedDelayString = "${account.number-filter.refresh-ms:5000}")
+    public void refresh() {
+        Bits bits = current;
+        if (bits == null) {
+            return;
+        }
+        LocalDateTime start = LocalDateTime.now();
+        accountRepository.findActiveAccountNumbersCreatedSince(bits.refreshedUntil.minus(refreshOverlap))
+                .forEach(this::put);
+        // si una reconstrucción reemplazó los bits, la marca queda en los anteriores y no se pierde nada
+        bits.refreshedUntil = start;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("account.number.filter.memory", this, filter -> filter.current != null
+                ? filter.current.words.length() * (double) Long.BYTES : 0)
+                .baseUnit("bytes")
+                .description("Memoria ocupada por los bits del filtro de números de cuenta")
+                .register(registry);
+        Gauge.builder("account.number.filter.expected.fpp", this, filter -> filter.current != null
+                ? filter.current.expectedFpp() : 1)
+                .description("Probabilidad de falso positivo estimada según los bits encendidos")
+                .register(registry);
+        Gauge.builder("account.number.filter.observed.fpp", this, AccountNumberFilter::observedFpp)
+                .description("Proporción de números inexistentes que el filtro no descartó")
+                .register(registry);
+        FunctionCounter.builder("account.number.filter.negatives", negatives, AtomicLong::get)
+                .description("Consultas respondidas por el filtro sin ir a la base")
+                .register(registry);
+    }
+
+    /**
+     * Falsos positivos sobre los números que no existían: los que el filtro dejó
+     * pasar más los que descartó. Los que sí existían no entran en la tasa.
+     */
+    private double observedFpp() {
+        long fp = falsePositives.get();
+        long absent = fp + negatives.get();
+        return absent == 0 ? 0 : (double) fp / absent;
+    }
+
+    /**
+     * Arreglo de bits con {@code hashes} posiciones por número, calculadas por
+     * doble hashing sobre un hash de 64 bits.
+     */
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final AtomicLong setBits = new AtomicLong();
+        // altas creadas antes de esta marca (menos el solapamiento) ya están en los bits
+        private volatile LocalDateTime refreshedUntil;
+
+        private Bits(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+            this.words = new AtomicLongArray(words);
+            this.size = (long) words * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+        }
+
+        private void put(String value) {
+            long hash = hash(value);
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(hash + i * h2, size);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long old;
+                do {
+                    old = words.get(word);
+                    if ((old & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, old, old | mask));
+                if ((old & mask) == 0) {
+                    setBits.incrementAndGet();
+                }
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long hash = hash(value);
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(hash + i * h2, size);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private double expectedFpp() {
+            return Math.pow((double) setBits.get() / size, hashes);
+        }
+
+        /**
+         * FNV-1a de 64 bits sobre los caracteres, con mezcla final.
+         */
+        private static long hash(String value) {
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -1,28 +1,53 @@
 package com.account.application.service.impl;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatusCode;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.RestClientException;
 
-import com.account.application.client.CustomerRestClient;
 import com.account.application.dto.request.SaveAccount;
+import com.account.application.dto.request.SaveTransfer;
+import com.account.application.dto.response.AccountBalanceAt;
+import com.account.application.dto.response.BalanceAggregate;
 import com.account.application.dto.response.FullAccountInfo;
+import com.account.application.dto.response.TransferResult;
 import com.account.application.exceptions.AccountPersistenceException;
 import com.account.application.exceptions.CustomerCreationException;
 import com.account.application.exceptions.CustomerServiceException;
+import com.account.application.exceptions.IdempotencyKeyConflictException;
+import com.account.application.exceptions.InsufficientFundsException;
 import com.account.application.mapper.AccountMapper;
 import com.account.application.service.AccountService;
 import com.account.domain.persistence.Account;
+import com.account.domain.persistence.AccountBalanceSlot;
+import com.account.domain.repository.AccountBalanceSlotRepository;
+import com.account.domain.repository.AccountBalanceSnapshotRepository;
 import com.account.domain.repository.AccountRepository;
+import com.account.domain.repository.AccountTransactionRepository;
+import com.account.domain.util.TransactionType;
+import com.account.infraestructura.config.CacheConfig;
+import com.commons.pagination.KeysetCursor;
 import com.commons.dto.request.Deposito;
+import com.commons.dto.response.CursorPage;
 import com.commons.dto.response.GetAccount;
 import com.commons.dto.response.GetCustomerDetail;
 
@@ -38,20 +63,62 @@ import com.commons.dto.response.GetCustomerDetail;
 @Transactional
 public class AccountServiceImpl implements AccountService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final AccountRepository accountRepository;
-    private final CustomerRestClient restClient;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final CustomerResolver customerResolver;
+    private final DepositEngine depositEngine;
+    private final BalanceSlotRegistry slotRegistry;
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionLedger ledger;
+    private final BalanceAggregates aggregates;
+    private final AccountNumberFilter numberFilter;
+    private final AccountNumberAllocator numberAllocator;
+    private final AccountTransactionRepository transactionRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final int maxBalanceSlots;
 
     /**
      * Constructor que inyecta las dependencias requeridas.
      *
-     * @param accountRepository repositorio de cuentas
-     * @param restClient        cliente REST para comunicación con el servicio de
-     *                          clientes
+     * @param accountRepository     repositorio de cuentas
+     * @param slotRepository        repositorio de sub-saldos de cuentas
+     *                              particionadas
+     * @param customerResolver      resuelve o crea el cliente de una apertura de
+     *                              cuenta
+     * @param depositEngine         motor de depósitos con un único escritor por
+     *                              cuenta
+     * @param slotRegistry          vista en memoria de las cuentas particionadas
+     * @param idempotencyStore      almacén de claves de idempotencia de depósitos
+     * @param ledger                escritor del libro de transacciones
+     * @param aggregates            totales de cuentas y saldo por tipo y estado
+     * @param numberFilter          filtro en memoria de números de cuenta
+     * @param numberAllocator       asignador de números de cuenta por bloques
+     * @param transactionRepository repositorio del libro de transacciones
+     * @param snapshotRepository    repositorio de fotos de saldo
+     * @param maxBalanceSlots       máximo de sub-saldos permitido por cuenta
      */
 
-    public AccountServiceImpl(AccountRepository accountRepository, CustomerRestClient restClient) {
+    public AccountServiceImpl(AccountRepository accountRepository, AccountBalanceSlotRepository slotRepository,
+            CustomerResolver customerResolver, DepositEngine depositEngine, BalanceSlotRegistry slotRegistry,
+            IdempotencyStore idempotencyStore, TransactionLedger ledger, BalanceAggregates aggregates,
+            AccountNumberFilter numberFilter, AccountNumberAllocator numberAllocator,
+            AccountTransactionRepository transactionRepository, AccountBalanceSnapshotRepository snapshotRepository,
+            @Value("${account.balance-slots.max:64}") int maxBalanceSlots) {
         this.accountRepository = accountRepository;
-        this.restClient = restClient;
+        this.slotRepository = slotRepository;
+        this.customerResolver = customerResolver;
+        this.depositEngine = depositEngine;
+        this.slotRegistry = slotRegistry;
+        this.idempotencyStore = idempotencyStore;
+        this.ledger = ledger;
+        this.aggregates = aggregates;
+        this.numberFilter = numberFilter;
+        this.numberAllocator = numberAllocator;
+        this.transactionRepository = transactionRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.maxBalanceSlots = maxBalanceSlots;
     }
 
     /**
@@ -64,27 +131,89 @@ public class AccountServiceImpl implements AccountService {
     @Transactional(readOnly = true)
     @Override
     public Page<GetAccount> findAll(Pageable pageable) {
-        return accountRepository.findActiveAll(pageable).map(AccountMapper::toGetDto);
+        Page<Account> accounts = accountRepository.findActiveAll(pageable);
+        Map<Long, BigDecimal> slotTotals = slotTotals(accounts.getContent());
+        return accounts.map(account -> AccountMapper.toGetDto(account,
+                account.getBalance().add(slotTotals.getOrDefault(account.getId(), BigDecimal.ZERO))));
+    }
+
+    /**
+     * Obtiene las cuentas activas paginadas por cursor. Se pide una fila de más
+     * para saber si existe una página siguiente sin ejecutar un COUNT.
+     *
+     * @param cursor token devuelto por la página anterior; vacío para la primera
+     * @param size   tamaño de página, entre 1 y {@value #MAX_CURSOR_PAGE_SIZE}
+     * @return página de cuentas con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<GetAccount> findAll(String cursor, int size) {
+        AccountSlice slice = sliceAfter(cursor, size);
+        Map<Long, BigDecimal> slotTotals = slotTotals(slice.accounts());
+        List<GetAccount> content = slice.accounts().stream()
+                .map(account -> AccountMapper.toGetDto(account,
+                        account.getBalance().add(slotTotals.getOrDefault(account.getId(), BigDecimal.ZERO))))
+                .toList();
+        return new CursorPage<>(content, slice.pageSize(), slice.nextCursor());
+    }
+
+    /**
+     * Obtiene una página de cuentas activas con los datos de sus dueños. Los
+     * clientes de toda la página se piden al servicio de clientes en un único
+     * pedido por lote.
+     *
+     * No abre transacción propia, para no retener una conexión a la base mientras
+     * se espera al servicio de clientes.
+     *
+     * @param pageable objeto de paginación y orden
+     * @return página de cuentas con los datos de sus dueños
+     * @throws CustomerServiceException si el servicio de clientes responde con
+     *                                  error
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public Page<FullAccountInfo> findAllWithCustomers(Pageable pageable) {
+        Page<Account> accounts = accountRepository.findActiveAll(pageable);
+        return new PageImpl<>(withCustomers(accounts.getContent()), pageable, accounts.getTotalElements());
+    }
+
+    /**
+     * Obtiene una página de cuentas activas por cursor con los datos de sus
+     * dueños, resueltos con un único pedido por lote al servicio de clientes.
+     *
+     * @param cursor token devuelto por la página anterior; vacío para la primera
+     * @param size   tamaño de página, entre 1 y {@value #MAX_CURSOR_PAGE_SIZE}
+     * @return página de cuentas con sus dueños y el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor no es válido
+     * @throws CustomerServiceException si el servicio de clientes responde con
+     *                                  error
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public CursorPage<FullAccountInfo> findAllWithCustomers(String cursor, int size) {
+        AccountSlice slice = sliceAfter(cursor, size);
+        return new CursorPage<>(withCustomers(slice.accounts()), slice.pageSize(), slice.nextCursor());
     }
 
     /**
      * Crea una nueva cuenta asociada a un cliente. Este proceso incluye:
      * 
      * La validación de los datos de entrada.
-     * La creación del cliente a través de un servicio externo.
+     * La obtención del cliente por email o, si no existe, su creación a través
+     * de un servicio externo.
+     * La asignación del número de cuenta, si el pedido no lo trae.
      * La creación y persistencia de la cuenta en la base de datos.
      * 
      *
-     * En caso de que el cliente ya exista, se recomienda validar previamente fuera
-     * de este método,
-     * ya que aquí se asume la creación de un nuevo cliente.
+     * Si el cliente ya existe la cuenta se asocia a él, sin volver a crearlo.
      *
      * @param saveAccount Objeto DTO que contiene los datos requeridos para
      *                    registrar
      *                    tanto al cliente como la cuenta asociada.
      * @return Objeto {@link FullAccountInfo} con la información completa de la
      *         cuenta creada
-     *         y los detalles del cliente recién registrado.
+     *         y los detalles del cliente asociado.
      *
      * @throws IllegalArgumentException    Si los datos de entrada son nulos o
      *                                     incompletos.
@@ -110,34 +239,26 @@ public class AccountServiceImpl implements AccountService {
             if (saveAccount.customer() == null) {
                 throw new IllegalArgumentException("Customer data es requerido");
             }
-            // 2. Creación del cliente con manejo de null seguro
-            ResponseEntity<GetCustomerDetail> createdCustomer = restClient.save(saveAccount.customer());
-
-            // 3. Manejo de respuestas HTTP con Optional para evitar NPE
-            HttpStatusCode statusCode = createdCustomer.getStatusCode();
-            if (!statusCode.is2xxSuccessful()) {
-                String errorDetails = Optional.ofNullable(createdCustomer.getBody())
-                        .map(Object::toString)
-                        .orElse("Sin detalles del error");
-
-                throw new CustomerCreationException(
-                        String.format("Error creando cliente - Código: %d - Detalles: %s",
-                                statusCode.value(),
-                                errorDetails));
-            }
-
-            // 4. Validación del cuerpo de respuesta con mensaje claro
-            GetCustomerDetail customer = createdCustomer.getBody();
-            if (customer == null) {
-                throw new CustomerServiceException("Respuesta inválida del servicio de clientes: cuerpo vacío");
-            }
-            if (customer.id() == null) {
-                throw new CustomerServiceException("El cliente creado no tiene ID válido");
-            }
+            // 2. Cliente existente por email o creación si no existe
+            GetCustomerDetail customer = customerResolver.getOrCreate(saveAccount.customer());
 
-            // 5. Persistencia con verificación de resultado
-            Account accountToSave = AccountMapper.toEntityFromDto(saveAccount, customer.id());
-            Account savedAccount = accountRepository.save(accountToSave);
+            // 3. Persistencia con verificación de resultado
+            String accountNumber = saveAccount.accountNumber() != null && !saveAccount.accountNumber().isBlank()
+                    ? saveAccount.accountNumber()
+                    : allocateAccountNumber();
+            Account accountToSave = AccountMapper.toEntityFromDto(saveAccount, customer.id(), accountNumber);
+            // con IDs por secuencia el INSERT se difiere al flush: se fuerza acá para que
+            // una violación de unicidad llegue al catch
+            Account savedAccount = accountRepository.saveAndFlush(accountToSave);
+            ledger.append(savedAccount.getId(), TransactionType.APERTURA, savedAccount.getBalance(), null);
+            aggregates.add(savedAccount.getAccountType().name(), savedAccount.getStatus().name(), 1,
+                    savedAccount.getBalance());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    numberFilter.put(savedAccount.getAccountNumber());
+                }
+            });
             return AccountMapper.toDtoFromEntity(savedAccount, customer);
 
         } catch (DataAccessException ex) {
@@ -149,8 +270,7 @@ public class AccountServiceImpl implements AccountService {
     }
 
     /**
-     * Realiza un depósito en una cuenta. Este método busca la cuenta por su número
-     * y actualiza su saldo.
+     * Realiza un depósito en una cuenta sin clave de idempotencia.
      *
      * @param deposito DTO que contiene el número de cuenta y el monto a depositar
      * @return DTO con la información de la cuenta después del depósito
@@ -158,41 +278,368 @@ public class AccountServiceImpl implements AccountService {
      *                          al actualizar el saldo
      */
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public GetAccount depositInAccount(Deposito deposito) {
-        Account account = findByAccountNumber(deposito.accountNumber());
-        account.setBalance(account.getBalance().add(deposito.amount()));
-        return AccountMapper.toGetDto(accountRepository.save(account));
+        return depositInAccount(deposito, null);
+    }
+
+    /**
+     * Realiza un depósito en una cuenta. El depósito se delega al
+     * {@link DepositEngine}, que serializa todos los depósitos de una misma cuenta
+     * en un único escritor y los confirma en grupo; este método espera el
+     * resultado de su propio depósito.
+     *
+     * Si el pedido trae clave de idempotencia, primero se busca la respuesta en el
+     * LRU en memoria; si no está, el motor reserva la clave en la transacción del
+     * grupo y, si ya existía, devuelve la respuesta guardada sin tocar la cuenta.
+     *
+     * No abre transacción propia: la transacción la maneja el motor por cada
+     * grupo de depósitos.
+     *
+     * @param deposito       DTO que contiene el número de cuenta y el monto a
+     *                       depositar
+     * @param idempotencyKey clave de idempotencia del pedido, o {@code null}
+     * @return DTO con la información de la cuenta después del depósito
+     * @throws IllegalArgumentException        si la clave supera los 100
+     *                                         caracteres
+     * @throws IdempotencyKeyConflictException si la clave ya se usó con otro
+     *                                         depósito
+     * @throws RuntimeException                si no se encuentra la cuenta o si
+     *                                         ocurre un error al actualizar el
+     *                                         saldo
+     */
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public GetAccount depositInAccount(Deposito deposito, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            if (idempotencyKey.length() > 100) {
+                throw new IllegalArgumentException("Idempotency-Key no puede superar los 100 caracteres");
+            }
+            GetAccount recent = idempotencyStore.findRecent(idempotencyKey, deposito);
+            if (recent != null) {
+                return recent;
+            }
+        }
+        try {
+            GetAccount result = depositEngine.submit(deposito, idempotencyKey).join();
+            if (idempotencyKey != null) {
+                idempotencyStore.remember(idempotencyKey, deposito, result);
+            }
+            return result;
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Transfiere fondos entre dos cuentas en una única transacción.
+     *
+     * Las dos filas se bloquean siempre en el mismo orden, por número de cuenta
+     * ascendente, sin importar cuál es el origen. Así dos transferencias cruzadas
+     * entre el mismo par de cuentas se encolan sobre la primera fila en lugar de
+     * bloquearse mutuamente, y no hace falta reintentar por deadlock. Es el mismo
+     * orden que usa la carga masiva de depósitos.
+     *
+     * Si el origen está particionado también se bloquean sus slots, de modo que
+     * el control de fondos se hace sobre el saldo total. Ambos movimientos quedan
+     * en el libro de transacciones con la misma referencia y se reflejan en los
+     * totales por tipo y estado.
+     *
+     * @param transfer DTO con las cuentas de origen y destino y el monto
+     * @return DTO con el estado de ambas cuentas después de la transferencia
+     * @throws IllegalArgumentException    si el origen y el destino son la misma
+     *                                     cuenta
+     * @throws InsufficientFundsException  si el saldo total del origen no alcanza
+     * @throws RuntimeException            si no se encuentra alguna de las cuentas
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ACCOUNTS_BY_NUMBER, key = "#transfer.sourceAccount()"),
+            @CacheEvict(cacheNames = CacheConfig.ACCOUNTS_BY_NUMBER, key = "#transfer.targetAccount()")
+    })
+    @Override
+    public TransferResult transfer(SaveTransfer transfer) {
+        String sourceNumber = transfer.sourceAccount();
+        String targetNumber = transfer.targetAccount();
+        if (sourceNumber.equals(targetNumber)) {
+            throw new IllegalArgumentException("La cuenta de origen y la de destino deben ser distintas");
+        }
+
+        boolean sourceFirst = sourceNumber.compareTo(targetNumber) < 0;
+        Account first = lockByAccountNumber(sourceFirst ? sourceNumber : targetNumber);
+        Account second = lockByAccountNumber(sourceFirst ? targetNumber : sourceNumber);
+        Account source = sourceFirst ? first : second;
+        Account target = sourceFirst ? second : first;
+
+        BigDecimal amount = transfer.amount();
+        BigDecimal sourceSlots = lockedSlotsTotal(source);
+        if (source.getBalance().add(sourceSlots).compareTo(amount) < 0) {
+            throw new InsufficientFundsException(sourceNumber);
+        }
+
+        source.setBalance(source.getBalance().subtract(amount));
+        target.setBalance(target.getBalance().add(amount));
+        accountRepository.save(source);
+        accountRepository.save(target);
+
+        String reference = UUID.randomUUID().toString();
+        ledger.append(source.getId(), TransactionType.TRANSFERENCIA_DEBITO, amount.negate(), reference);
+        ledger.append(target.getId(), TransactionType.TRANSFERENCIA_CREDITO, amount, reference);
+        Map<BalanceAggregates.Key, BigDecimal> balances = new HashMap<>();
+        balances.merge(aggregateKey(source), amount.negate(), BigDecimal::add);
+        balances.merge(aggregateKey(target), amount, BigDecimal::add);
+        aggregates.addBalances(balances);
+
+        return new TransferResult(reference, amount,
+                AccountMapper.toGetDto(source, source.getBalance().add(sourceSlots)),
+                AccountMapper.toGetDto(target, totalBalance(target)));
     }
 
     /**
      * Busca una cuenta activa por su número de cuenta.
      *
+     * El resultado se cachea por número de cuenta. La carga es sincronizada por
+     * clave, de modo que una actualización posterior al commit de un depósito no
+     * puede ser pisada por una lectura más vieja.
+     *
      * @param number número de cuenta
      * @return DTO con los datos de la cuenta encontrada
      * @throws RuntimeException si no se encuentra la cuenta
      */
 
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS_BY_NUMBER, sync = true)
     @Transactional(readOnly = true)
     @Override
     public GetAccount findByNumber(String number) {
-        return AccountMapper.toGetDto(findByAccountNumber(number));
+        Account account = findByAccountNumber(number);
+        return AccountMapper.toGetDto(account, totalBalance(account));
+    }
+
+    /**
+     * Busca una cuenta por su número sin importar su estado: primero en la tabla
+     * principal y, si ya fue archivada, en la tabla de archivo. No usa la caché.
+     *
+     * @param number número de cuenta
+     * @return DTO con los datos de la cuenta encontrada
+     * @throws RuntimeException si no se encuentra la cuenta
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public GetAccount findByNumberIncludingArchived(String number) {
+        Account account = accountRepository.findAnyByAccountNumber(number)
+                .or(() -> accountRepository.findArchivedByAccountNumber(number))
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        return AccountMapper.toGetDto(account, totalBalance(account));
+    }
+
+    /**
+     * Indica si existe una cuenta activa con el número dado. El filtro en memoria
+     * descarta los números que seguro no existen, revisando solo las cuentas
+     * creadas desde su último refresco; los que pueden existir se confirman con
+     * la consulta.
+     *
+     * @param number número de cuenta
+     * @return {@code true} si la cuenta existe
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public boolean existsByNumber(String number) {
+        if (!numberFilter.mightContain(number)) {
+            return false;
+        }
+        boolean exists = accountRepository.existsByAccountNumber(number);
+        numberFilter.recordLookup(exists);
+        return exists;
+    }
+
+    /**
+     * Calcula el saldo de una cuenta a un instante dado desde el libro de
+     * transacciones: la foto más cercana anterior a ese instante más los
+     * movimientos posteriores a la foto. Solo se suman los movimientos desde el
+     * corte de la foto, por lo que el costo no depende de la antigüedad de la
+     * cuenta.
+     *
+     * @param number número de cuenta
+     * @param at     instante a consultar; {@code null} para el saldo actual
+     * @return saldo de la cuenta a ese instante
+     * @throws RuntimeException si no se encuentra la cuenta
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public AccountBalanceAt balanceAt(String number, LocalDateTime at) {
+        Account account = findByAccountNumber(number);
+        LocalDateTime instant = at != null ? at : LocalDateTime.now();
+        BigDecimal balance = snapshotRepository
+                .findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(account.getId(), instant)
+                .map(snapshot -> snapshot.getBalance()
+                        .add(transactionRepository.sumBetween(account.getId(), snapshot.getAsOf(), instant)))
+                .orElseGet(() -> transactionRepository.sumUntil(account.getId(), instant));
+        return new AccountBalanceAt(account.getAccountNumber(), balance, instant);
+    }
+
+    /**
+     * Obtiene los totales por tipo y estado desde los contadores mantenidos en
+     * cada operación, sin recorrer la tabla de cuentas.
+     *
+     * @return totales por tipo y estado
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<BalanceAggregate> balanceAggregates() {
+        return aggregates.totals();
+    }
+
+    /**
+     * Promueve una cuenta al modo de sub-saldos o la devuelve al modo normal, en
+     * línea y sin detener los depósitos.
+     *
+     * Bloquea la cuenta y sus slots actuales, consolida lo acumulado en los slots
+     * dentro del saldo base y crea los nuevos slots vacíos. Los depósitos que
+     * estaban esperando sobre un slot eliminado no encuentran la fila y se aplican
+     * al saldo base.
+     *
+     * @param number número de cuenta
+     * @param slots  cantidad de sub-saldos; 0 vuelve al modo normal
+     * @return DTO con los datos de la cuenta
+     * @throws IllegalArgumentException si la cantidad de slots está fuera de rango
+     * @throws RuntimeException         si no se encuentra la cuenta
+     */
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS_BY_NUMBER, key = "#number")
+    @Override
+    public GetAccount configureBalanceSlots(String number, int slots) {
+        if (slots < 0 || slots > maxBalanceSlots) {
+            throw new IllegalArgumentException(
+                    String.format("La cantidad de slots debe estar entre 0 y %d", maxBalanceSlots));
+        }
+        Account account = accountRepository.findByAccountNumberForUpdate(number)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        List<AccountBalanceSlot> currentSlots = slotRepository.findByAccountIdForUpdate(account.getId());
+        BigDecimal folded = currentSlots.stream()
+                .map(AccountBalanceSlot::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        slotRepository.deleteAllInBatch(currentSlots);
+
+        for (int slot = 0; slot < slots; slot++) {
+            slotRepository.save(AccountBalanceSlot.builder()
+                    .accountId(account.getId())
+                    .slot(slot)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+        }
+        account.setBalance(account.getBalance().add(folded));
+        account.setBalanceSlots(slots > 0 ? slots : null);
+        Account savedAccount = accountRepository.save(account);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                slotRegistry.register(number, slots);
+            }
+        });
+        return AccountMapper.toGetDto(savedAccount);
     }
 
     /**
      * Realiza una eliminación lógica de una cuenta, marcándola como inactiva
-     * y registrando la fecha de eliminación.
+     * y registrando la fecha de eliminación. La cuenta y su saldo se descuentan
+     * de los totales por tipo y estado; la fila se bloquea para que ningún
+     * depósito concurrente cambie el saldo descontado.
      *
      * @param number número de cuenta a eliminar
      * @throws RuntimeException si no se encuentra la cuenta
      */
+    @CacheEvict(cacheNames = CacheConfig.ACCOUNTS_BY_NUMBER, key = "#number")
     @Override
     public void deleteByNumber(String number) {
-        Account account = findByAccountNumber(number);
+        Account account = lockByAccountNumber(number);
+        BigDecimal balance = account.getBalance().add(lockedSlotsTotal(account));
         account.setDeletedAt(LocalDateTime.now());
         account.setActive(false);
         accountRepository.save(account);
+        aggregates.add(account.getAccountType().name(), account.getStatus().name(), -1, balance.negate());
+    }
+
+    /**
+     * Saldo total de una cuenta: el saldo base más, si está particionada, la suma
+     * de sus sub-saldos.
+     */
+    private BigDecimal totalBalance(Account account) {
+        if (!account.hasBalanceSlots()) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(slotRepository.sumByAccountId(account.getId()));
+    }
+
+    /**
+     * Suma de los sub-saldos de una cuenta, bloqueándolos hasta el fin de la
+     * transacción para que ningún depósito los modifique mientras se usan.
+     */
+    private BigDecimal lockedSlotsTotal(Account account) {
+        if (!account.hasBalanceSlots()) {
+            return BigDecimal.ZERO;
+        }
+        return slotRepository.findByAccountIdForUpdate(account.getId()).stream()
+                .map(AccountBalanceSlot::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Suma de los sub-saldos de las cuentas particionadas de una página, resuelta
+     * con una sola consulta.
+     */
+    private Map<Long, BigDecimal> slotTotals(List<Account> accounts) {
+        List<Long> shardedIds = accounts.stream()
+                .filter(Account::hasBalanceSlots)
+                .map(Account::getId)
+                .toList();
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        if (!shardedIds.isEmpty()) {
+            for (Object[] row : slotRepository.sumByAccountIds(shardedIds)) {
+                totals.put((Long) row[0], (BigDecimal) row[1]);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Lee una página de cuentas activas por cursor. Se pide una fila de más para
+     * saber si existe una página siguiente sin ejecutar un COUNT.
+     */
+    private AccountSlice sliceAfter(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Account> accounts = after == null
+                ? accountRepository.findActiveFirst(pageSize + 1)
+                : accountRepository.findActiveAfter(after.sortKey(), after.id(), pageSize + 1);
 
+        String nextCursor = null;
+        if (accounts.size() > pageSize) {
+            accounts = accounts.subList(0, pageSize);
+            Account last = accounts.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new AccountSlice(accounts, pageSize, nextCursor);
+    }
+
+    /**
+     * Arma las cuentas de una página con los datos de sus dueños: una consulta
+     * para los sub-saldos y un pedido por lote al servicio de clientes.
+     */
+    private List<FullAccountInfo> withCustomers(List<Account> accounts) {
+        Map<Long, BigDecimal> slotTotals = slotTotals(accounts);
+        Map<Long, GetCustomerDetail> customers = customerResolver.findAllByIds(accounts.stream()
+                .map(Account::getCustomerId)
+                .collect(Collectors.toSet()));
+        return accounts.stream()
+                .map(account -> AccountMapper.toDtoFromEntity(account,
+                        account.getBalance().add(slotTotals.getOrDefault(account.getId(), BigDecimal.ZERO)),
+                        customers.get(account.getCustomerId())))
+                .toList();
     }
 
     /**
@@ -207,4 +654,40 @@ public class AccountServiceImpl implements AccountService {
                 .orElseThrow(() -> new RuntimeException("Account not found"));
     }
 
+    /**
+     * Asigna un número de cuenta nuevo. Los números asignados nunca se repiten;
+     * solo se descartan los que coinciden con uno cargado a mano, algo que el
+     * filtro en memoria resuelve casi siempre sin ir a la base.
+     */
+    private String allocateAccountNumber() {
+        String accountNumber = numberAllocator.next();
+        while (existsByNumber(accountNumber)) {
+            accountNumber = numberAllocator.next();
+        }
+        return accountNumber;
+    }
+
+    private static BalanceAggregates.Key aggregateKey(Account account) {
+        return new BalanceAggregates.Key(account.getAccountType().name(), account.getStatus().name());
+    }
+
+    /**
+     * Busca y bloquea una cuenta activa por número hasta el fin de la
+     * transacción.
+     *
+     * @param accountNumber número de cuenta
+     * @return entidad de cuenta bloqueada
+     * @throws RuntimeException si no se encuentra la cuenta
+     */
+    private Account lockByAccountNumber(String accountNumber) {
+        return accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+    }
+
+    /**
+     * Página de cuentas leída por cursor, antes de mapearla.
+     */
+    private record AccountSlice(List<Account> accounts, int pageSize, String nextCursor) {
+    }
+
 }
@@ -0,0 +1,76 @@
+package com.account.application.service.impl;
+
+import java.util.Arrays;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.account.domain.repository.AccountBalanceSnapshotRepository;
+import com.account.domain.util.AccountStatus;
+import com.account.domain.util.AccountType;
+
+/**
+ * Corrige periódicamente cualquier desvío de los totales por tipo y estado
+ * respecto de las cuentas.
+ *
+ * Primero crea o bloquea, en una sola sentencia y en orden de tipo, estado y
+ * stripe, todas las filas de todas las combinaciones: desde ese momento ninguna operación puede confirmar un
+ * cambio de totales, porque lo escribe en la misma transacción. Después
+ * recalcula los totales reales, que incluyen todo lo confirmado antes del
+ * bloqueo, y los deja en la stripe 0 con las demás en cero. Las operaciones que
+ * quedaron esperando aplican su delta sobre el valor corregido. Un lock
+ * consultivo garantiza que una sola instancia concilie a la vez.
+ */
+@Component
+public class BalanceAggregateReconciler {
+
+    private static final long ADVISORY_LOCK_KEY = 0x4147_4752L;
+
+    // el DO UPDATE bloquea las filas existentes en el mismo orden en que se insertan las nuevas
+    private static final String LOCK_ROWS = "INSERT INTO account_balance_totals AS t (account_type, status, stripe) "
+            + "SELECT ty, st, g FROM unnest(?::varchar[]) ty CROSS JOIN unnest(?::varchar[]) st "
+            + "CROSS JOIN generate_series(0, ? - 1) g ORDER BY ty COLLATE \"C\", st COLLATE \"C\", g "
+            + "ON CONFLICT (account_type, status, stripe) DO UPDATE SET accounts = t.accounts";
+
+    private static final String RESET = "UPDATE account_balance_totals SET accounts = 0, balance = 0 "
+            + "WHERE accounts <> 0 OR balance <> 0";
+
+    private static final String RECOMPUTE = "INSERT INTO account_balance_totals AS t (account_type, status, "
+            + "stripe, accounts, balance) "
+            + "SELECT a.account_type, a.status, 0, COUNT(*), COALESCE(SUM(a.balance + COALESCE(s.total, 0)), 0) "
+            + "FROM accounts a LEFT JOIN (SELECT account_id, SUM(balance) AS total FROM account_balance_slots "
+            + "GROUP BY account_id) s ON s.account_id = a.id WHERE a.is_active = true "
+            + "GROUP BY a.account_type, a.status "
+            + "ON CONFLICT (account_type, status, stripe) "
+            + "DO UPDATE SET accounts = excluded.accounts, balance = excluded.balance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final BalanceAggregates aggregates;
+
+    public BalanceAggregateReconciler(JdbcTemplate jdbcTemplate,
+            AccountBalanceSnapshotRepository snapshotRepository, BalanceAggregates aggregates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotRepository = snapshotRepository;
+        this.aggregates = aggregates;
+    }
+
+    /**
+     * Recalcula los totales desde las cuentas activas.
+     */
+    @Transactional
+    @Scheduled(initialDelayString = "${account.aggregates.reconcile-ms:3600000}",
+            fixedDelayString = "${account.aggregates.reconcile-ms:3600000}")
+    public void reconcile() {
+        if (!snapshotRepository.tryAdvisoryLock(ADVISORY_LOCK_KEY)) {
+            return;
+        }
+        String[] types = Arrays.stream(AccountType.values()).map(Enum::name).toArray(String[]::new);
+        String[] statuses = Arrays.stream(AccountStatus.values()).map(Enum::name).toArray(String[]::new);
+        jdbcTemplate.update(LOCK_ROWS, types, statuses, aggregates.stripes());
+        jdbcTemplate.update(RESET);
+        jdbcTemplate.update(RECOMPUTE);
+    }
+}
@@ -0,0 +1,107 @@
+package com.account.application.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.account.application.dto.response.BalanceAggregate;
+
+/**
+ * Totales de cuentas y saldo por tipo y estado, sobre la tabla
+ * {@code account_balance_totals}.
+ *
+ * Cada combinación de tipo y estado tiene {@code stripes} filas. Una escritura
+ * suma su delta a una stripe elegida al azar con un upsert, dentro de la
+ * transacción del llamador, así las operaciones concurrentes se reparten entre
+ * filas distintas en lugar de esperar por la misma. Una lectura suma las
+ * stripes: su costo depende de la cantidad de combinaciones, no de la cantidad
+ * de cuentas.
+ *
+ * Las escrituras que tocan varias combinaciones las bloquean en orden de tipo y
+ * estado y sobre una misma stripe, el mismo orden que usa la conciliación, para
+ * no provocar deadlocks.
+ */
+@Component
+public class BalanceAggregates {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::accountType).thenComparing(Key::status);
+
+    private static final String ADD = "INSERT INTO account_balance_totals AS t (account_type, status, stripe, "
+            + "accounts, balance) VALUES (?, ?, ?, ?, ?) ON CONFLICT (account_type, status, stripe) "
+            + "DO UPDATE SET accounts = t.accounts + excluded.accounts, balance = t.balance + excluded.balance";
+
+    private static final String TOTALS = "SELECT account_type, status, SUM(accounts) AS accounts, "
+            + "SUM(balance) AS balance FROM account_balance_totals GROUP BY account_type, status "
+            + "HAVING SUM(accounts) <> 0 OR SUM(balance) <> 0 ORDER BY account_type, status";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int stripes;
+
+    public BalanceAggregates(JdbcTemplate jdbcTemplate,
+            @Value("${account.aggregates.stripes:16}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stripes = Math.max(1, stripes);
+    }
+
+    /**
+     * Suma un delta a los totales de una combinación.
+     *
+     * @param accountType tipo de cuenta
+     * @param status      estado de la cuenta
+     * @param accounts    delta de cantidad de cuentas
+     * @param balance     delta de saldo
+     */
+    public void add(String accountType, String status, long accounts, BigDecimal balance) {
+        jdbcTemplate.update(ADD, accountType, status, randomStripe(), accounts, balance);
+    }
+
+    /**
+     * Suma deltas de saldo a varias combinaciones, en orden de tipo y estado y
+     * sobre una misma stripe.
+     *
+     * @param balances delta de saldo por combinación
+     */
+    public void addBalances(Map<Key, BigDecimal> balances) {
+        int stripe = randomStripe();
+        List<Object[]> args = balances.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() != 0)
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .map(entry -> new Object[] { entry.getKey().accountType(), entry.getKey().status(), stripe, 0L,
+                        entry.getValue() })
+                .toList();
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD, args);
+        }
+    }
+
+    /**
+     * Totales actuales por tipo y estado de cuenta.
+     */
+    public List<BalanceAggregate> totals() {
+        return jdbcTemplate.query(TOTALS, (rs, rowNum) -> new BalanceAggregate(
+                rs.getString("account_type"),
+                rs.getString("status"),
+                rs.getLong("accounts"),
+                rs.getBigDecimal("balance")));
+    }
+
+    int stripes() {
+        return stripes;
+    }
+
+    private int randomStripe() {
+        return ThreadLocalRandom.current().nextInt(stripes);
+    }
+
+    /**
+     * Combinación de tipo y estado de cuenta.
+     */
+    public record Key(String accountType, String status) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.account.application.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.account.domain.persistence.Account;
+import com.account.domain.repository.AccountRepository;
+
+/**
+ * Vista en memoria de las cuentas que operan en modo de sub-saldos.
+ *
+ * El {@link DepositEngine} la consulta para elegir un slot al encolar un
+ * depósito sin ir a la base de datos. Se actualiza al promover o degradar una
+ * cuenta en esta instancia y se recarga periódicamente para reflejar cambios
+ * hechos desde otras instancias. Que esté desactualizada no afecta la
+ * corrección: un depósito sobre un slot que ya no existe cae al saldo base.
+ */
+@Component
+public class BalanceSlotRegistry {
+
+    private final AccountRepository accountRepository;
+    private final Map<String, Integer> slotsByNumber = new ConcurrentHashMap<>();
+
+    public BalanceSlotRegistry(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * @param accountNumber número de cuenta
+     * @return cantidad de slots de la cuenta, o 0 si opera en modo normal
+     */
+    public int slotsOf(String accountNumber) {
+        return slotsByNumber.getOrDefault(accountNumber, 0);
+    }
+
+    public void register(String accountNumber, int slots) {
+        if (slots > 0) {
+            slotsByNumber.put(accountNumber, slots);
+        } else {
+            slotsByNumber.remove(accountNumber);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${account.balance-slots.refresh-ms:30000}", initialDelayString = "${account.balance-slots.refresh-ms:30000}")
+    public void reload() {
+        Map<String, Integer> current = new ConcurrentHashMap<>();
+        for (Account account : accountRepository.findActiveWithBalanceSlots()) {
+            current.put(account.getAccountNumber(), account.getBalanceSlots());
+        }
+        slotsByNumber.keySet().retainAll(current.keySet());
+        slotsByNumber.putAll(current);
+    }
+}
@@ -0,0 +1,53 @@
+package com.account.application.service.impl;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.account.domain.repository.AccountBalanceSnapshotRepository;
+
+/**
+ * Toma periódicamente fotos del saldo de las cuentas a partir del libro de
+ * transacciones, para acotar cuántos movimientos hay que sumar al calcular un
+ * saldo.
+ *
+ * Cada corrida cubre los movimientos entre el corte anterior y la hora actual
+ * menos un margen de seguridad: un movimiento se fecha al iniciar su
+ * transacción pero es visible recién al confirmarse, y el margen evita que una
+ * foto deje afuera un movimiento que todavía no se había confirmado. Un lock
+ * consultivo garantiza que una sola instancia tome fotos a la vez.
+ */
+@Component
+public class BalanceSnapshotter {
+
+    private static final long ADVISORY_LOCK_KEY = 0x5A4E_5053L;
+    private static final LocalDateTime FIRST_CUTOFF = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final long safetyLagSeconds;
+
+    public BalanceSnapshotter(AccountBalanceSnapshotRepository snapshotRepository,
+            @Value("${account.ledger.snapshot-lag-seconds:60}") long safetyLagSeconds) {
+        this.snapshotRepository = snapshotRepository;
+        this.safetyLagSeconds = safetyLagSeconds;
+    }
+
+    /**
+     * Toma las fotos de las cuentas con movimientos desde el último corte.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${account.ledger.snapshot-ms:300000}")
+    public void snapshot() {
+        if (!snapshotRepository.tryAdvisoryLock(ADVISORY_LOCK_KEY)) {
+            return;
+        }
+        LocalDateTime from = snapshotRepository.findLastCutoff().orElse(FIRST_CUTOFF);
+        LocalDateTime to = snapshotRepository.currentTimestamp().minusSeconds(safetyLagSeconds);
+        if (to.isAfter(from)) {
+            snapshotRepository.snapshotBetween(from, to);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.account.application.service.impl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.account.application.service.BulkDepositService;
+import com.account.infraestructura.config.CacheConfig;
+import com.commons.dto.request.BulkDeposit;
+import com.commons.dto.request.Deposito;
+import com.commons.dto.response.BulkDepositResult;
+import com.commons.money.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Implementación de la carga masiva de depósitos.
+ *
+ * El flujo NDJSON se lee de a un registro y se procesa en lotes de
+ * {@code chunkSize}, por lo que la memoria usada no depende del tamaño del
+ * archivo. Cada lote agrupa los depósitos por cuenta y aplica un único
+ * {@code UPDATE balance = balance + ?} por cuenta, enviados juntos en un batch
+ * JDBC y confirmados en una sola transacción junto con un movimiento del libro
+ * por cada depósito, con su clave de idempotencia como referencia, y los
+ * totales por tipo y estado. Las cuentas se actualizan
+ * en orden de número para que dos cargas concurrentes no se bloqueen
+ * mutuamente.
+ *
+ * Un registro puede traer su propia clave de idempotencia. Las claves del lote
+ * se reservan con un único INSERT ... ON CONFLICT DO NOTHING en la misma
+ * transacción: los registros cuya clave ya existía no se vuelven a aplicar y
+ * se informan como {@code REPETIDO}, de modo que reenviar una carga completa es
+ * seguro. La respuesta guardada para esas claves tiene el saldo de la cuenta al
+ * cierre del lote, incluidas las porciones del saldo repartido en slots.
+ */
+@Service
+public class BulkDepositServiceImpl implements BulkDepositService {
+
+    private static final String ADD_TO_BALANCE = "UPDATE accounts SET balance = balance + ?, updated_at = now() "
+            + "WHERE account_number = ? AND is_active = true";
+
+    private static final String TYPE_AND_STATUS = "SELECT account_number, account_type, status FROM accounts "
+            + "WHERE account_number = ANY (?) AND is_active = true";
+
+    private static final String CLAIM_KEYS = "INSERT INTO deposit_idempotency_keys (idempotency_key, "
+            + "account_number, amount, created_at) SELECT k.key, k.account_number, k.amount, now() "
+            + "FROM unnest(?::varchar[], ?::varchar[], ?::varchar[]::numeric[]) AS k(key, account_number, amount) "
+            + "ON CONFLICT (idempotency_key) DO NOTHING RETURNING idempotency_key";
+
+    private static final String STORED_KEYS = "SELECT idempotency_key, account_number, amount "
+            + "FROM deposit_idempotency_keys WHERE idempotency_key = ANY (?)";
+
+    private static final String RELEASE_KEYS = "DELETE FROM deposit_idempotency_keys WHERE idempotency_key = ANY (?)";
+
+    private static final String STORE_RESPONSES = "UPDATE deposit_idempotency_keys k SET account_id = a.id, "
+            + "account_type = a.account_type, status = a.status, balance = a.balance + (SELECT COALESCE(SUM(s.balance), 0) "
+            + "FROM account_balance_slots s WHERE s.account_id = a.id), customer_id = a.customer_id "
+            + "FROM accounts a WHERE k.idempotency_key = ANY (?) AND a.account_number = k.account_number "
+            + "AND a.is_active = true";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionLedger ledger;
+    private final BalanceAggregates aggregates;
+    private final Validator validator;
+    private final Cache accountsByNumber;
+    private final ObjectReader depositReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+
+    public BulkDepositServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            TransactionLedger ledger, BalanceAggregates aggregates, Validator validator, CacheManager cacheManager, ObjectMapper objectMapper,
+            @Value("${account.bulk.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ledger = ledger;
+        this.aggregates = aggregates;
+        this.validator = validator;
+        this.accountsByNumber = cacheManager.getCache(CacheConfig.ACCOUNTS_BY_NUMBER);
+        this.depositReader = objectMapper.readerFor(BulkDeposit.class);
+        this.resultWriter = objectMapper.writerFor(BulkDepositResult.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Lee, valida y aplica los depósitos lote a lote. Los registros inválidos se
+     * informan como {@code ERROR} sin afectar al resto del lote.
+     */
+    @Override
+    public void depositAll(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        List<Record> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(parse(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                write(apply(chunk), writer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(apply(chunk), writer);
+        }
+        writer.flush();
+    }
+
+    private Record parse(long lineNumber, String line) {
+        BulkDeposit deposit;
+        try {
+            deposit = depositReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            return new Record(lineNumber, null, "JSON inválido: " + ex.getOriginalMessage());
+        }
+        if (deposit.amount() == null) {
+            return new Record(lineNumber, deposit, "El monto no puede ser nulo");
+        }
+        Set<ConstraintViolation<BulkDeposit>> violations = validator.validate(deposit);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; "));
+            return new Record(lineNumber, deposit, message);
+        }
+        return new Record(lineNumber, deposit, null);
+    }
+
+    /**
+     * Aplica los registros válidos de un lote en una transacción y arma el
+     * resultado de cada registro, en el orden de entrada.
+     */
+    private List<BulkDepositResult> apply(List<Record> chunk) {
+        List<Record> valid = chunk.stream().filter(record -> record.error() == null).toList();
+        Outcome outcome = new Outcome();
+        boolean chunkFailed = false;
+        if (!valid.isEmpty()) {
+            try {
+                outcome = transactionTemplate.execute(status -> applyInTransaction(valid));
+            } catch (DataAccessException ex) {
+                chunkFailed = true;
+                for (Record record : valid) {
+                    outcome.errors().put(record,
+                            "Error al aplicar el lote: " + ex.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        List<BulkDepositResult> results = new ArrayList<>(chunk.size());
+        for (Record record : chunk) {
+            String accountNumber = record.deposit() != null ? record.deposit().accountNumber() : null;
+            String error = record.error() != null ? record.error() : outcome.errors().get(record);
+            if (error != null && chunkFailed && record.error() == null) {
+                // falló la transacción del lote, no el registro: reenviarlo puede aplicarlo
+                results.add(BulkDepositResult.retryableError(record.line(), accountNumber, error));
+            } else if (error != null) {
+                results.add(BulkDepositResult.error(record.line(), accountNumber, error));
+            } else if (outcome.replayed().contains(record)) {
+                results.add(BulkDepositResult.replayed(record.line(), accountNumber));
+            } else {
+                results.add(BulkDepositResult.ok(record.line(), accountNumber));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reserva las claves de idempotencia del lote, descarta los depósitos ya
+     * aplicados y aplica el resto. Las claves de cuentas inexistentes se liberan
+     * para que el registro pueda reenviarse.
+     */
+    private Outcome applyInTransaction(List<Record> valid) {
+        Outcome outcome = new Outcome();
+        Set<String> claimed = claimKeys(valid);
+        Map<String, BulkDeposit> stored = storedDeposits(valid, claimed);
+
+        Map<String, Money> totals = new TreeMap<>();
+        List<Deposito> applied = new ArrayList<>(valid.size());
+        // la clave de idempotencia es la referencia del movimiento, como en el depósito individual
+        List<String> references = new ArrayList<>(valid.size());
+        Map<String, String> appliedKeys = new HashMap<>();
+        for (Record record : valid) {
+            BulkDeposit deposit = record.deposit();
+            String key = deposit.idempotencyKey();
+            if (key != null && !claimed.remove(key)) {
+                // la clave ya estaba guardada o se repite en el mismo lote
+                BulkDeposit previous = stored.get(key);
+                if (previous == null || !sameDeposit(previous, deposit)) {
+                    outcome.errors().put(record, "La clave de idempotencia ya se usó con otro depósito");
+                } else {
+                    outcome.replayed().add(record);
+                }
+                continue;
+            }
+            if (key != null) {
+                stored.put(key, deposit);
+                appliedKeys.put(key, deposit.accountNumber());
+            }
+            applied.add(deposit.toDeposito());
+            references.add(key);
+            totals.merge(deposit.accountNumber(), Money.of(deposit.amount()), Money::plus);
+        }
+        if (totals.isEmpty()) {
+            return outcome;
+        }
+
+        List<Object[]> args = totals.entrySet().stream()
+                .map(entry -> new Object[] { entry.getValue().toBigDecimal(), entry.getKey() })
+                .toList();
+        ledger.appendDepositsByNumber(applied, references);
+        int[] updated = jdbcTemplate.batchUpdate(ADD_TO_BALANCE, args);
+        aggregates.addBalances(totalsByTypeAndStatus(totals));
+        // la caché es transaccional: se invalida recién después del commit
+        totals.keySet().forEach(accountsByNumber::evict);
+
+        Set<String> missing = new HashSet<>();
+        int i = 0;
+        for (String accountNumber : totals.keySet()) {
+            if (updated[i++] == 0) {
+                missing.add(accountNumber);
+            }
+        }
+        for (Record record : valid) {
+            if (missing.contains(record.deposit().accountNumber())) {
+                outcome.errors().put(record, "Account not found");
+                outcome.replayed().remove(record);
+            }
+        }
+        if (!appliedKeys.isEmpty()) {
+            String[] released = appliedKeys.entrySet().stream()
+                    .filter(entry -> missing.contains(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toArray(String[]::new);
+            if (released.length > 0) {
+                jdbcTemplate.update(RELEASE_KEYS, (Object) released);
+            }
+            jdbcTemplate.update(STORE_RESPONSES, (Object) appliedKeys.keySet().toArray(String[]::new));
+        }
+        return outcome;
+    }
+
+    /**
+     * Reserva con una sola sentencia las claves de idempotencia del lote.
+     *
+     * @return las claves nuevas; las que ya existían no se devuelven
+     */
+    private Set<String> claimKeys(List<Record> valid) {
+        List<BulkDeposit> keyed = valid.stream()
+                .map(Record::deposit)
+                .filter(deposit -> deposit.idempotencyKey() != null)
+                .toList();
+        if (keyed.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(CLAIM_KEYS, String.class,
+                keyed.stream().map(BulkDeposit::idempotencyKey).toArray(String[]::new),
+                keyed.stream().map(BulkDeposit::accountNumber).toArray(String[]::new),
+                // el driver no codifica BigDecimal[]: los montos viajan como texto
+                keyed.stream().map(deposit -> deposit.amount().toPlainString()).toArray(String[]::new)));
+    }
+
+    /**
+     * Lee los depósitos guardados de las claves del lote que ya existían.
+     */
+    private Map<String, BulkDeposit> storedDeposits(List<Record> valid, Set<String> claimed) {
+        String[] existing = valid.stream()
+                .map(record -> record.deposit().idempotencyKey())
+                .filter(key -> key != null && !claimed.contains(key))
+                .distinct()
+                .toArray(String[]::new);
+        Map<String, BulkDeposit> stored = new HashMap<>();
+        if (existing.length > 0) {
+            jdbcTemplate.query(STORED_KEYS, (ResultSet rs) -> {
+                String key = rs.getString("idempotency_key");
+                stored.put(key, new BulkDeposit(rs.getString("account_number"), rs.getBigDecimal("amount"), key));
+            }, (Object) existing);
+        }
+        return stored;
+    }
+
+    private static boolean sameDeposit(BulkDeposit previous, BulkDeposit deposit) {
+        return previous.accountNumber().equals(deposit.accountNumber())
+                && previous.amount().compareTo(deposit.amount()) == 0;
+    }
+
+    /**
+     * Agrupa los totales de un lote por tipo y estado de cuenta, con una sola
+     * consulta. Las cuentas inexistentes quedan afuera.
+     */
+    private Map<BalanceAggregates.Key, BigDecimal> totalsByTypeAndStatus(Map<String, Money> totals) {
+        Map<BalanceAggregates.Key, Money> byKey = new HashMap<>();
+        jdbcTemplate.query(TYPE_AND_STATUS, (ResultSet rs) -> byKey.merge(
+                new BalanceAggregates.Key(rs.getString("account_type"), rs.getString("status")),
+                totals.get(rs.getString("account_number")), Money::plus),
+                (Object) totals.keySet().toArray(String[]::new));
+        return byKey.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toBigDecimal()));
+    }
+
+    private void write(List<BulkDepositResult> results, Writer writer) throws IOException {
+        for (BulkDepositResult result : results) {
+            writer.write(resultWriter.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Registro leído del flujo: el depósito y, si no es válido, el motivo.
+     */
+    private record Record(long line, BulkDeposit deposit, String error) {
+    }
+
+    /**
+     * Resultado de aplicar un lote: los registros con error y los que ya se
+     * habían aplicado con la misma clave de idempotencia.
+     */
+    private record Outcome(Map<Record, String> errors, Set<Record> replayed) {
+
+        Outcome() {
+            this(new HashMap<>(), new HashSet<>());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.account.application.service.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.account.application.client.CustomerRestClient;
+import com.account.application.exceptions.CustomerCreationException;
+import com.account.application.exceptions.CustomerServiceException;
+import com.account.infraestructura.config.CacheConfig;
+import com.commons.dto.request.SaveCustomer;
+import com.commons.dto.response.GetCustomerDetail;
+
+import feign.FeignException;
+
+/**
+ * Resuelve el cliente de una apertura de cuenta: lo obtiene si ya existe o lo
+ * crea si no.
+ *
+ * Primero consulta una caché local por email; si no está, busca el cliente en
+ * el servicio de clientes y solo lo crea cuando no existe. Los emails
+ * inexistentes se recuerdan unos segundos, de modo que un reintento inmediato
+ * no repite la búsqueda remota. Los clientes resueltos se copian además a una
+ * caché de respaldo de vida larga, que se usa si el servicio de clientes cae.
+ */
+@Component
+public class CustomerResolver {
+
+    // tope de IDs por consulta del servicio de clientes
+    private static final int MAX_IDS_PER_REQUEST = 100;
+
+    private final CustomerRestClient restClient;
+    private final Cache customersByEmail;
+    private final Cache missingCustomerEmails;
+    private final Cache staleCustomersByEmail;
+
+    public CustomerResolver(CustomerRestClient restClient, CacheManager cacheManager) {
+        this.restClient = restClient;
+        this.customersByEmail = cacheManager.getCache(CacheConfig.CUSTOMERS_BY_EMAIL);
+        this.missingCustomerEmails = cacheManager.getCache(CacheConfig.MISSING_CUSTOMER_EMAILS);
+        this.staleCustomersByEmail = cacheManager.getCache(CacheConfig.STALE_CUSTOMERS_BY_EMAIL);
+    }
+
+    /**
+     * Obtiene el cliente con el email indicado o lo crea si no existe.
+     *
+     * @param saveCustomer datos del cliente a crear si no existe
+     * @return el cliente existente o el recién creado
+     * @throws CustomerCreationException si la creación del cliente falla
+     * @throws CustomerServiceException  si el servicio de clientes responde con
+     *                                   error o una respuesta inválida
+     */
+    public GetCustomerDetail getOrCreate(SaveCustomer saveCustomer) {
+        String email = saveCustomer.email();
+        GetCustomerDetail cached = customersByEmail.get(email, GetCustomerDetail.class);
+        if (cached != null) {
+            return cached;
+        }
+        if (missingCustomerEmails.get(email) == null) {
+            GetCustomerDetail found = findByEmail(email);
+            if (found != null) {
+                remember(email, found);
+                return found;
+            }
+            missingCustomerEmails.put(email, Boolean.TRUE);
+        }
+
+        GetCustomerDetail customer;
+        try {
+            customer = create(saveCustomer);
+        } catch (CustomerCreationException ex) {
+            // otra apertura concurrente pudo haber creado el mismo cliente
+            customer = findByEmail(email);
+            if (customer == null) {
+                throw ex;
+            }
+        }
+        missingCustomerEmails.evict(email);
+        remember(email, customer);
+        return customer;
+    }
+
+    /**
+     * Guarda el cliente en la caché local y en la de respaldo que usa
+     * {@code CustomerRestClientFallbackFactory} cuando el servicio de clientes no
+     * responde.
+     */
+    private void remember(String email, GetCustomerDetail customer) {
+        customersByEmail.put(email, customer);
+        staleCustomersByEmail.put(email, customer);
+    }
+
+    /**
+     * Obtiene los clientes con los IDs indicados, en pedidos de a lo sumo
+     * {@value #MAX_IDS_PER_REQUEST} IDs, el máximo que acepta el servicio de
+     * clientes por consulta.
+     *
+     * @param ids IDs de clientes
+     * @return clientes encontrados por ID; los inexistentes no aparecen
+     * @throws CustomerServiceException si el servicio de clientes responde con
+     *                                  error
+     */
+    public Map<Long, GetCustomerDetail> findAllByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, GetCustomerDetail> byId = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_REQUEST) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_REQUEST, distinctIds.size()));
+            List<GetCustomerDetail> customers;
+            try {
+                customers = restClient.findAllByIds(List.copyOf(chunk)).getBody();
+            } catch (FeignException ex) {
+                throw new CustomerServiceException("Error buscando clientes por ID", ex);
+            }
+            if (customers != null) {
+                customers.forEach(customer -> byId.put(customer.id(), customer));
+            }
+        }
+        return byId;
+    }
+
+    /**
+     * Busca un cliente activo por email en el servicio de clientes.
+     *
+     * @return el cliente, o {@code null} si no existe
+     */
+    private GetCustomerDetail findByEmail(String email) {
+        try {
+            GetCustomerDetail customer = restClient.findByEmail(email).getBody();
+            return customer != null && customer.id() != null ? customer : null;
+        } catch (FeignException.NotFound ex) {
+            return null;
+        } catch (FeignException ex) {
+            throw new CustomerServiceException("Error buscando cliente por email", ex);
+        }
+    }
+
+    private GetCustomerDetail create(SaveCustomer saveCustomer) {
+        ResponseEntity<GetCustomerDetail> createdCustomer;
+        try {
+            createdCustomer = restClient.save(saveCustomer);
+        } catch (FeignException ex) {
+            throw new CustomerCreationException(
+                    String.format("Error creando cliente - Código: %d - Detalles: %s",
+                            ex.status(),
+                            ex.contentUTF8()));
+        }
+
+        HttpStatusCode statusCode = createdCustomer.getStatusCode();
+        if (!statusCode.is2xxSuccessful()) {
+            String errorDetails = Optional.ofNullable(createdCustomer.getBody())
+                    .map(Object::toString)
+                    .orElse("Sin detalles del error");
+
+            throw new CustomerCreationException(
+                    String.format("Error creando cliente - Código: %d - Detalles: %s",
+                            statusCode.value(),
+                            errorDetails));
+        }
+
+        GetCustomerDetail customer = createdCustomer.getBody();
+        if (customer == null) {
+            throw new CustomerServiceException("Respuesta inválida del servicio de clientes: cuerpo vacío");
+        }
+        if (customer.id() == null) {
+            throw new CustomerServiceException("El cliente creado no tiene ID válido");
+        }
+        return customer;
+    }
+}
@@ -0,0 +1,363 @@
+package com.account.application.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.account.application.exceptions.IdempotencyKeyConflictException;
+import com.account.application.mapper.AccountMapper;
+import com.account.domain.persistence.Account;
+import com.account.domain.repository.AccountBalanceSlotRepository;
+import com.account.domain.repository.AccountRepository;
+import com.account.infraestructura.config.CacheConfig;
+import com.commons.dto.request.Deposito;
+import com.commons.dto.response.GetAccount;
+import com.commons.money.Money;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Motor de depósitos con un único escritor por cuenta.
+ *
+ * Cada número de cuenta tiene un buzón (cola) propio. Los depósitos se encolan
+ * y un solo hilo a la vez drena el buzón de una cuenta: toma todos los
+ * depósitos pendientes (hasta {@code maxBatchSize}), los aplica sobre el saldo
+ * en una única transacción con la fila bloqueada y confirma el grupo completo
+ * de una vez (group commit). Cada llamador recibe su propio {@link GetAccount}
+ * con el saldo resultante justo después de su depósito.
+ *
+ * El bloqueo pesimista de la fila protege además frente a escritores de otras
+ * instancias del servicio, de modo que no se pierden actualizaciones.
+ *
+ * Las cuentas en modo de sub-saldos tienen un buzón por slot: cada depósito
+ * elige un slot al azar y el grupo se suma a ese slot con un UPDATE atómico,
+ * sin bloquear la fila de la cuenta, de modo que K escritores avanzan en
+ * paralelo sobre la misma cuenta.
+ *
+ * Los depósitos con clave de idempotencia reservan la clave dentro de la misma
+ * transacción del grupo; si la clave ya existía se responde la respuesta
+ * guardada y el depósito no toca la cuenta.
+ *
+ * Cada depósito aplicado se registra en el libro de transacciones, y el total
+ * del grupo en los totales por tipo y estado, en la misma transacción del grupo.
+ *
+ * Las sumas de cada grupo se hacen con {@link Money} en centavos, sin crear un
+ * {@link BigDecimal} por operación.
+ *
+ * Tras el commit se actualiza la caché de cuentas por número con el último
+ * estado de la cuenta; en modo de sub-saldos, donde varios escritores confirman
+ * en paralelo, la entrada se invalida en su lugar.
+ */
+@Component
+public class DepositEngine {
+
+    private static final int NO_SLOT = -1;
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final BalanceSlotRegistry slotRegistry;
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionLedger ledger;
+    private final BalanceAggregates aggregates;
+    private final Cache accountsByNumber;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService writers;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<MailboxKey, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public DepositEngine(AccountRepository accountRepository,
+            AccountBalanceSlotRepository slotRepository,
+            BalanceSlotRegistry slotRegistry,
+            IdempotencyStore idempotencyStore,
+            TransactionLedger ledger,
+            BalanceAggregates aggregates,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${account.deposit.writer-threads:8}") int writerThreads,
+            @Value("${account.deposit.max-batch-size:200}") int maxBatchSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.accountRepository = accountRepository;
+        this.slotRepository = slotRepository;
+        this.slotRegistry = slotRegistry;
+        this.idempotencyStore = idempotencyStore;
+        this.ledger = ledger;
+        this.aggregates = aggregates;
+        this.accountsByNumber = cacheManager.getCache(CacheConfig.ACCOUNTS_BY_NUMBER);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // con hilos virtuales se mantiene el mismo tope de escritores concurrentes
+        this.writers = Executors.newFixedThreadPool(writerThreads, virtualThreads
+                ? Thread.ofVirtual().name("deposit-writer-", 0).factory()
+                : Thread.ofPlatform().name("deposit-writer-", 0).factory());
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Encola un depósito en el buzón de su cuenta.
+     *
+     * @param deposito       DTO con el número de cuenta y el monto a depositar
+     * @param idempotencyKey clave de idempotencia del pedido, o {@code null}
+     * @return futuro que se completa con el estado de la cuenta tras el depósito,
+     *         una vez confirmada la transacción del grupo
+     * @throws IllegalArgumentException si el depósito o su monto son nulos, o si
+     *                                  el monto tiene más de dos decimales
+     */
+    public CompletableFuture<GetAccount> submit(Deposito deposito, String idempotencyKey) {
+        if (deposito == null || deposito.accountNumber() == null || deposito.amount() == null) {
+            throw new IllegalArgumentException("El depósito debe indicar cuenta y monto");
+        }
+        Money amount;
+        try {
+            amount = Money.of(deposito.amount());
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("El monto debe tener como máximo dos decimales", ex);
+        }
+        PendingDeposit pending = new PendingDeposit(deposito, amount, idempotencyKey);
+        int slots = slotRegistry.slotsOf(deposito.accountNumber());
+        MailboxKey key = new MailboxKey(deposito.accountNumber(),
+                slots > 0 ? ThreadLocalRandom.current().nextInt(slots) : NO_SLOT);
+        // compute serializa el encolado con la baja del buzón en drain()
+        Mailbox mailbox = mailboxes.compute(key, (k, current) -> {
+            Mailbox target = current != null ? current : new Mailbox();
+            target.queue.offer(pending);
+            return target;
+        });
+        if (mailbox.scheduled.compareAndSet(false, true)) {
+            writers.execute(() -> drain(key, mailbox));
+        }
+        return pending.result;
+    }
+
+    /**
+     * Drena el buzón de una cuenta. Solo un hilo ejecuta este método por buzón a
+     * la vez, gracias a la bandera {@code scheduled}.
+     */
+    private void drain(MailboxKey key, Mailbox mailbox) {
+        while (true) {
+            List<PendingDeposit> batch = mailbox.poll(maxBatchSize);
+            if (!batch.isEmpty()) {
+                commit(key, batch);
+                continue;
+            }
+            mailbox.scheduled.set(false);
+            if (mailbox.queue.isEmpty()) {
+                mailboxes.computeIfPresent(key,
+                        (k, current) -> current == mailbox && current.queue.isEmpty() ? null : current);
+                return;
+            }
+            // llegó un depósito entre el poll y la liberación: retomarlo si nadie lo hizo
+            if (!mailbox.scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aplica un grupo de depósitos sobre la misma cuenta (o el mismo slot) en una
+     * sola transacción. Los futuros se completan recién después del commit.
+     */
+    private void commit(MailboxKey key, List<PendingDeposit> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<PendingDeposit> fresh = claimKeys(batch);
+                if (fresh.isEmpty()) {
+                    return;
+                }
+                List<GetAccount> applied = key.slot() != NO_SLOT ? applyToSlot(key, fresh) : null;
+                if (applied == null) {
+                    applied = applyToBalance(key.accountNumber(), fresh);
+                }
+                GetAccount account = applied.get(0);
+                ledger.appendDeposits(account.id(),
+                        fresh.stream().map(pending -> pending.deposito).toList(),
+                        fresh.stream().map(pending -> pending.idempotencyKey).toList());
+                aggregates.add(account.accountType(), account.status(), 0, fresh.stream()
+                        .map(pending -> pending.amount)
+                        .reduce(Money.ZERO, Money::plus)
+                        .toBigDecimal());
+                for (int i = 0; i < fresh.size(); i++) {
+                    PendingDeposit pending = fresh.get(i);
+                    pending.response = applied.get(i);
+                    if (pending.idempotencyKey != null) {
+                        idempotencyStore.store(pending.idempotencyKey, pending.response);
+                    }
+                }
+            });
+        } catch (RuntimeException ex) {
+            batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            return;
+        }
+        batch.forEach(PendingDeposit::complete);
+    }
+
+    /**
+     * Reserva las claves de idempotencia del grupo.
+     *
+     * @return los depósitos que deben aplicarse; los reintentos quedan resueltos
+     *         con la respuesta guardada y no tocan la cuenta
+     */
+    private List<PendingDeposit> claimKeys(List<PendingDeposit> batch) {
+        List<PendingDeposit> fresh = new ArrayList<>(batch.size());
+        Map<String, PendingDeposit> firstByKey = new HashMap<>();
+        for (PendingDeposit pending : batch) {
+            if (pending.idempotencyKey == null) {
+                fresh.add(pending);
+                continue;
+            }
+            // la misma clave repetida dentro del grupo comparte el resultado del primero
+            PendingDeposit first = firstByKey.putIfAbsent(pending.idempotencyKey, pending);
+            if (first != null) {
+                pending.sameAs = first;
+            } else if (idempotencyStore.claim(pending.idempotencyKey, pending.deposito)) {
+                fresh.add(pending);
+            } else {
+                try {
+                    pending.response = idempotencyStore.replay(pending.idempotencyKey, pending.deposito);
+                } catch (IdempotencyKeyConflictException ex) {
+                    pending.rejection = ex;
+                }
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Suma el grupo al saldo base de la cuenta con la fila bloqueada.
+     */
+    private List<GetAccount> applyToBalance(String accountNumber, List<PendingDeposit> batch) {
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        // una cuenta particionada también puede recibir depósitos en el saldo base
+        Money slotsTotal = account.hasBalanceSlots()
+                ? Money.of(slotRepository.sumByAccountId(account.getId()))
+                : Money.ZERO;
+        List<GetAccount> applied = new ArrayList<>(batch.size());
+        Money balance = Money.of(account.getBalance());
+        for (PendingDeposit pending : batch) {
+            balance = balance.plus(pending.amount);
+            applied.add(AccountMapper.toGetDto(account, balance.plus(slotsTotal).toBigDecimal()));
+        }
+        account.setBalance(balance.toBigDecimal());
+        accountRepository.save(account);
+        // la caché es transaccional: se actualiza recién después del commit
+        if (account.hasBalanceSlots()) {
+            accountsByNumber.evict(accountNumber);
+        } else {
+            accountsByNumber.put(accountNumber, applied.get(applied.size() - 1));
+        }
+        return applied;
+    }
+
+    /**
+     * Suma el grupo a un slot de la cuenta sin bloquear la fila de la cuenta.
+     *
+     * @return resultados por depósito, o {@code null} si la cuenta ya no tiene ese
+     *         slot (fue degradada) y el grupo debe ir al saldo base
+     */
+    private List<GetAccount> applyToSlot(MailboxKey key, List<PendingDeposit> batch) {
+        Money total = Money.ZERO;
+        for (PendingDeposit pending : batch) {
+            total = total.plus(pending.amount);
+        }
+        if (slotRepository.addToSlot(key.accountNumber(), key.slot(), total.toBigDecimal()) == 0) {
+            slotRegistry.register(key.accountNumber(), 0);
+            return null;
+        }
+        Account account = accountRepository.findByAccountNumber(key.accountNumber())
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        // saldo total ya incluido el grupo; se reconstruye el saldo tras cada depósito
+        Money balance = Money.of(account.getBalance())
+                .plus(Money.of(slotRepository.sumByAccountId(account.getId())))
+                .minus(total);
+        List<GetAccount> applied = new ArrayList<>(batch.size());
+        for (PendingDeposit pending : batch) {
+            balance = balance.plus(pending.amount);
+            applied.add(AccountMapper.toGetDto(account, balance.toBigDecimal()));
+        }
+        accountsByNumber.evict(key.accountNumber());
+        return applied;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writers.shutdown();
+        writers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Depósito a la espera de ser aplicado por el escritor de su cuenta. Los
+     * campos mutables solo los escribe el escritor del buzón.
+     */
+    private static final class PendingDeposit {
+        private final Deposito deposito;
+        private final Money amount;
+        private final String idempotencyKey;
+        private final CompletableFuture<GetAccount> result = new CompletableFuture<>();
+        private GetAccount response;
+        private RuntimeException rejection;
+        private PendingDeposit sameAs;
+
+        private PendingDeposit(Deposito deposito, Money amount, String idempotencyKey) {
+            this.deposito = deposito;
+            this.amount = amount;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        private void complete() {
+            PendingDeposit source = this;
+            if (sameAs != null) {
+                source = sameAs;
+                if (!deposito.accountNumber().equals(sameAs.deposito.accountNumber())
+                        || deposito.amount().compareTo(sameAs.deposito.amount()) != 0) {
+                    result.completeExceptionally(new IdempotencyKeyConflictException(idempotencyKey));
+                    return;
+                }
+            }
+            if (source.rejection != null) {
+                result.completeExceptionally(source.rejection);
+            } else {
+                result.complete(source.response);
+            }
+        }
+    }
+
+    /**
+     * Identifica un buzón: la cuenta y, en modo de sub-saldos, el slot elegido.
+     */
+    private record MailboxKey(String accountNumber, int slot) {
+    }
+
+    /**
+     * Buzón de una cuenta: cola de depósitos pendientes y bandera que indica si
+     * ya hay un escritor drenándola.
+     */
+    private static final class Mailbox {
+        private final ConcurrentLinkedQueue<PendingDeposit> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private List<PendingDeposit> poll(int max) {
+            List<PendingDeposit> batch = new ArrayList<>();
+            PendingDeposit next;
+            while (batch.size() < max && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            return batch;
+        }
+    }
+}
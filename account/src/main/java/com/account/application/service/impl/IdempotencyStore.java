@@ -0,0 +1,137 @@
+package com.account.application.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.account.application.exceptions.IdempotencyKeyConflictException;
+import com.account.domain.persistence.DepositIdempotencyKey;
+import com.account.domain.repository.DepositIdempotencyKeyRepository;
+import com.commons.dto.request.Deposito;
+import com.commons.dto.response.GetAccount;
+
+/**
+ * Almacén de claves de idempotencia para depósitos.
+ *
+ * Delante de la tabla {@code deposit_idempotency_keys} mantiene un LRU acotado
+ * en memoria con las respuestas recientes, de modo que los reintentos
+ * frecuentes se responden sin ir a la base. Una clave nueva no cuesta ningún
+ * SELECT: se reserva con un INSERT ... ON CONFLICT DO NOTHING dentro de la
+ * transacción del depósito y la respuesta se guarda en la misma transacción.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final DepositIdempotencyKeyRepository repository;
+    private final Map<String, StoredDeposit> recent;
+    // ReentrantLock en lugar de synchronized: no fija hilos virtuales
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final long retentionHours;
+
+    public IdempotencyStore(DepositIdempotencyKeyRepository repository,
+            @Value("${account.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${account.idempotency.retention-hours:24}") long retentionHours) {
+        this.repository = repository;
+        this.retentionHours = retentionHours;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredDeposit> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Busca la respuesta de un depósito ya confirmado en el LRU en memoria.
+     *
+     * @return la respuesta almacenada, o {@code null} si la clave no está en memoria
+     * @throws IdempotencyKeyConflictException si la clave se usó con otro depósito
+     */
+    public GetAccount findRecent(String idempotencyKey, Deposito deposito) {
+        StoredDeposit stored;
+        recentLock.lock();
+        try {
+            stored = recent.get(idempotencyKey);
+        } finally {
+            recentLock.unlock();
+        }
+        if (stored == null) {
+            return null;
+        }
+        checkSameDeposit(idempotencyKey, stored.accountNumber(), stored.amount(), deposito);
+        return stored.response();
+    }
+
+    /**
+     * Reserva la clave en la transacción actual.
+     *
+     * @return {@code true} si la clave es nueva y el depósito debe aplicarse
+     */
+    public boolean claim(String idempotencyKey, Deposito deposito) {
+        return repository.claim(idempotencyKey, deposito.accountNumber(), deposito.amount()) == 1;
+    }
+
+    /**
+     * Obtiene la respuesta guardada para una clave ya confirmada.
+     *
+     * @throws IdempotencyKeyConflictException si la clave se usó con otro depósito
+     */
+    public GetAccount replay(String idempotencyKey, Deposito deposito) {
+        DepositIdempotencyKey stored = repository.findById(idempotencyKey)
+                .orElseThrow(() -> new IdempotencyKeyConflictException(idempotencyKey));
+        checkSameDeposit(idempotencyKey, stored.getAccountNumber(), stored.getAmount(), deposito);
+        return new GetAccount(
+                stored.getAccountId(),
+                stored.getAccountNumber(),
+                stored.getAccountType(),
+                stored.getStatus(),
+                stored.getBalance(),
+                stored.getCustomerId());
+    }
+
+    /**
+     * Guarda la respuesta de un depósito nuevo en la transacción actual.
+     */
+    public void store(String idempotencyKey, GetAccount response) {
+        repository.storeResponse(idempotencyKey, response.id(), response.accountType(), response.status(),
+                response.balance(), response.customerId());
+    }
+
+    /**
+     * Agrega al LRU la respuesta de un depósito ya confirmado.
+     */
+    public void remember(String idempotencyKey, Deposito deposito, GetAccount response) {
+        recentLock.lock();
+        try {
+            recent.put(idempotencyKey, new StoredDeposit(deposito.accountNumber(), deposito.amount(), response));
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * Elimina las claves más viejas que el período de retención.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${account.idempotency.purge-ms:3600000}")
+    public void purge() {
+        repository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    private void checkSameDeposit(String idempotencyKey, String accountNumber, BigDecimal amount,
+            Deposito deposito) {
+        if (!accountNumber.equals(deposito.accountNumber()) || amount.compareTo(deposito.amount()) != 0) {
+            throw new IdempotencyKeyConflictException(idempotencyKey);
+        }
+    }
+
+    private record StoredDeposit(String accountNumber, BigDecimal amount, GetAccount response) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.account.application.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.account.application.dto.response.StatementLine;
+import com.account.application.service.StatementService;
+import com.account.domain.persistence.Account;
+import com.account.domain.repository.AccountRepository;
+import com.account.domain.util.StatementFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Implementación de la exportación de extractos.
+ *
+ * Los movimientos se leen con un cursor del lado del servidor: el driver de
+ * PostgreSQL solo trae de a {@code fetchSize} filas cuando la conexión no está
+ * en autocommit, por eso la lectura corre dentro de una transacción de solo
+ * lectura. Cada fila se escribe en la respuesta apenas se lee, sin armar la
+ * lista completa, de modo que la memoria usada no depende de la cantidad de
+ * movimientos de la cuenta. No hay paginado por OFFSET ni COUNT.
+ */
+@Service
+public class StatementServiceImpl implements StatementService {
+
+    private static final String SELECT_MOVEMENTS = "SELECT id, created_at, type, amount, reference "
+            + "FROM account_transactions WHERE account_id = ?";
+
+    private static final String CSV_HEADER = "id,created_at,type,amount,reference\n";
+
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter lineWriter;
+
+    public StatementServiceImpl(AccountRepository accountRepository, DataSource dataSource,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            @Value("${account.statement.fetch-size:1000}") int fetchSize) {
+        this.accountRepository = accountRepository;
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.lineWriter = objectMapper.writerFor(StatementLine.class);
+    }
+
+    /**
+     * Busca la cuenta y recorre sus movimientos con el cursor, escribiendo cada
+     * uno en el formato pedido. El encabezado se envía antes de la primera
+     * lectura para que el cliente reciba los primeros bytes de inmediato.
+     */
+    @Override
+    public void writeStatement(String number, StatementFormat format, LocalDateTime from, LocalDateTime to,
+            OutputStream output) throws IOException {
+        Account account = accountRepository.findByAccountNumber(number)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        StringBuilder sql = new StringBuilder(SELECT_MOVEMENTS);
+        List<Object> args = new ArrayList<>(3);
+        args.add(account.getId());
+        if (from != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY created_at, id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == StatementFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        writer.flush();
+        try {
+            transactionTemplate.executeWithoutResult(status -> cursorTemplate.query(sql.toString(),
+                    (ResultSet rs) -> write(toLine(rs), format, writer), args.toArray()));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    private StatementLine toLine(ResultSet rs) throws SQLException {
+        return new StatementLine(
+                rs.getLong("id"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getString("type"),
+                rs.getBigDecimal("amount"),
+                rs.getString("reference"));
+    }
+
+    private void write(StatementLine line, StatementFormat format, Writer writer) {
+        try {
+            if (format == StatementFormat.NDJSON) {
+                writer.write(lineWriter.writeValueAsString(line));
+            } else {
+                writer.write(Long.toString(line.id()));
+                writer.write(',');
+                writer.write(line.createdAt().toString());
+                writer.write(',');
+                writer.write(line.type());
+                writer.write(',');
+                writer.write(line.amount().toPlainString());
+                writer.write(',');
+                writer.write(csvField(line.reference()));
+            }
+            writer.write('\n');
+        } catch (IOException ex) {
+            // el cliente cortó la conexión: se aborta la lectura del cursor
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Escapa un campo de texto libre según RFC 4180.
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,77 @@
+package com.account.application.service.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.account.domain.util.TransactionType;
+import com.commons.dto.request.Deposito;
+
+/**
+ * Escritor del libro de transacciones {@code account_transactions}.
+ *
+ * Los movimientos se agregan con INSERT en batch JDBC dentro de la transacción
+ * del llamador, de modo que el movimiento y el cambio de saldo se confirman
+ * juntos. Nunca se actualiza una fila del libro.
+ */
+@Component
+public class TransactionLedger {
+
+    private static final String APPEND = "INSERT INTO account_transactions (account_id, type, amount, reference, "
+            + "created_at) VALUES (?, ?, ?, ?, now())";
+
+    private static final String APPEND_BY_NUMBER = "INSERT INTO account_transactions (account_id, type, amount, "
+            + "reference, created_at) SELECT id, ?, ?, ?, now() FROM accounts "
+            + "WHERE account_number = ? AND is_active = true";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra un movimiento sobre una cuenta.
+     */
+    public void append(Long accountId, TransactionType type, BigDecimal amount, String reference) {
+        jdbcTemplate.update(APPEND, accountId, type.name(), amount, reference);
+    }
+
+    /**
+     * Registra un grupo de depósitos sobre una misma cuenta.
+     *
+     * @param accountId  ID de la cuenta
+     * @param deposits   depósitos aplicados, en orden
+     * @param references referencia de cada depósito (puede contener
+     *                   {@code null})
+     */
+    public void appendDeposits(Long accountId, List<Deposito> deposits, List<String> references) {
+        String type = TransactionType.DEPOSITO.name();
+        List<Object[]> args = IntStream.range(0, deposits.size())
+                .mapToObj(i -> new Object[] { accountId, type, deposits.get(i).amount(), references.get(i) })
+                .toList();
+        jdbcTemplate.batchUpdate(APPEND, args);
+    }
+
+    /**
+     * Registra depósitos identificando la cuenta por su número; el ID se resuelve
+     * en el mismo INSERT.
+     *
+     * @param deposits   depósitos aplicados, en orden
+     * @param references referencia de cada depósito (puede contener
+     *                   {@code null})
+     * @return filas insertadas por depósito; 0 si la cuenta no existe o no está
+     *         activa
+     */
+    public int[] appendDepositsByNumber(List<Deposito> deposits, List<String> references) {
+        String type = TransactionType.DEPOSITO.name();
+        List<Object[]> args = IntStream.range(0, deposits.size())
+                .mapToObj(i -> new Object[] { type, deposits.get(i).amount(), references.get(i),
+                        deposits.get(i).accountNumber() })
+                .toList();
+        return jdbcTemplate.batchUpdate(APPEND_BY_NUMBER, args);
+    }
+}
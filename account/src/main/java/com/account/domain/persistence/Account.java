@@ -16,6 +16,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -37,7 +38,8 @@ public class Account {
      * Identificador único de la cuenta.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -98,6 +100,15 @@ public class Account {
     @Column(name = "customer_id", nullable = false)
     private Long customerId;
 
+    /**
+     * Cantidad de sub-saldos (slots) en los que se reparte el saldo de una cuenta
+     * con mucho tráfico de depósitos. {@code null} indica el modo normal.
+     * En modo particionado el saldo total es {@code balance} más la suma de los
+     * slots.
+     */
+    @Column(name = "balance_slots")
+    private Integer balanceSlots;
+
     public String getAccountNumber() {
         return accountNumber;
     }
@@ -178,4 +189,19 @@ public class Account {
         this.customerId = customerId;
     }
 
+    public Integer getBalanceSlots() {
+        return balanceSlots;
+    }
+
+    public void setBalanceSlots(Integer balanceSlots) {
+        this.balanceSlots = balanceSlots;
+    }
+
+    /**
+     * Indica si la cuenta reparte su saldo en sub-saldos.
+     */
+    public boolean hasBalanceSlots() {
+        return balanceSlots != null && balanceSlots > 0;
+    }
+
 }
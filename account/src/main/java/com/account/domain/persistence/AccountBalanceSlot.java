@@ -0,0 +1,73 @@
+package com.account.domain.persistence;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sub-saldo de una cuenta en modo particionado. Los depósitos sobre cuentas con
+ * mucho tráfico se reparten entre varios slots para no competir por una única
+ * fila de {@code accounts}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "account_balance_slots", uniqueConstraints = @UniqueConstraint(columnNames = { "account_id", "slot" }))
+public class AccountBalanceSlot {
+
+    /**
+     * Identificador único del slot.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID de la cuenta a la que pertenece el slot.
+     */
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    /**
+     * Posición del slot dentro de la cuenta, de 0 a K-1.
+     */
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    /**
+     * Parte del saldo acumulada en este slot.
+     */
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+}
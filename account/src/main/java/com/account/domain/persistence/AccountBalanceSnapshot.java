@@ -0,0 +1,69 @@
+package com.account.domain.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * Foto del saldo de una cuenta a un instante dado. El saldo a cualquier momento
+ * posterior se obtiene sumando a la foto los movimientos del libro desde
+ * {@code asOf}, sin recorrer toda la historia de la cuenta.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "account_balance_snapshots")
+public class AccountBalanceSnapshot {
+
+    /**
+     * Identificador único de la foto.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID de la cuenta.
+     */
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    /**
+     * Saldo de la cuenta con todos los movimientos anteriores a {@code asOf}.
+     */
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * Instante de corte de la foto (exclusivo).
+     */
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.account.domain.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro compacto de un depósito identificado por una clave de idempotencia.
+ * Guarda los datos del pedido original y la respuesta devuelta, para poder
+ * responder un reintento sin volver a tocar la cuenta.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "deposit_idempotency_keys")
+public class DepositIdempotencyKey {
+
+    /**
+     * Clave de idempotencia enviada por el cliente en el header
+     * {@code Idempotency-Key}.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    /**
+     * Número de cuenta del depósito original.
+     */
+    @Column(name = "account_number", nullable = false, length = 30)
+    private String accountNumber;
+
+    /**
+     * Monto del depósito original.
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * ID de la cuenta en la respuesta almacenada.
+     */
+    @Column(name = "account_id")
+    private Long accountId;
+
+    /**
+     * Tipo de cuenta en la respuesta almacenada.
+     */
+    @Column(name = "account_type", length = 20)
+    private String accountType;
+
+    /**
+     * Estado de la cuenta en la respuesta almacenada.
+     */
+    @Column(name = "status", length = 20)
+    private String status;
+
+    /**
+     * Saldo devuelto en la respuesta almacenada.
+     */
+    @Column(name = "balance", precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * ID del cliente en la respuesta almacenada.
+     */
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    /**
+     * Fecha en que se registró la clave; se usa para depurar claves viejas.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+}
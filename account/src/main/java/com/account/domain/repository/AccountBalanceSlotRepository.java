@@ -0,0 +1,40 @@
+package com.account.domain.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.account.domain.persistence.AccountBalanceSlot;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    /**
+     * Suma un monto a un slot de una cuenta activa con un UPDATE atómico, sin
+     * leer ni bloquear la fila de la cuenta.
+     *
+     * @return cantidad de filas actualizadas; 0 si la cuenta ya no tiene ese slot
+     */
+    @Modifying
+    @Query("UPDATE AccountBalanceSlot s SET s.balance = s.balance + ?3 WHERE s.slot = ?2 AND s.accountId = "
+            + "(SELECT a.id FROM Account a WHERE a.isActive = true AND a.accountNumber = ?1)")
+    int addToSlot(String accountNumber, int slot, BigDecimal amount);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlot s WHERE s.accountId = ?1")
+    BigDecimal sumByAccountId(Long accountId);
+
+    @Query("SELECT s.accountId, SUM(s.balance) FROM AccountBalanceSlot s WHERE s.accountId IN ?1 GROUP BY s.accountId")
+    List<Object[]> sumByAccountIds(Collection<Long> accountIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlot s WHERE s.accountId = ?1")
+    List<AccountBalanceSlot> findByAccountIdForUpdate(Long accountId);
+}
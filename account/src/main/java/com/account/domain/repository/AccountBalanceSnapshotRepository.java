@@ -0,0 +1,55 @@
+package com.account.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.account.domain.persistence.AccountBalanceSnapshot;
+
+@Repository
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+
+    /**
+     * Foto más reciente de una cuenta con corte igual o anterior a {@code at}.
+     */
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId,
+            LocalDateTime at);
+
+    @Query("SELECT MAX(s.asOf) FROM AccountBalanceSnapshot s")
+    Optional<LocalDateTime> findLastCutoff();
+
+    /**
+     * Toma la foto de todas las cuentas con movimientos en {@code [from, to)}: el
+     * saldo de su foto anterior más la suma de esos movimientos. Las cuentas sin
+     * movimientos en el intervalo conservan su foto anterior, que sigue siendo
+     * válida.
+     *
+     * @return cantidad de fotos creadas
+     */
+    @Modifying
+    @Query(value = "WITH delta AS (SELECT account_id, SUM(amount) AS amount FROM account_transactions "
+            + "WHERE created_at >= ?1 AND created_at < ?2 GROUP BY account_id) "
+            + "INSERT INTO account_balance_snapshots (account_id, balance, as_of) "
+            + "SELECT d.account_id, d.amount + COALESCE((SELECT s.balance FROM account_balance_snapshots s "
+            + "WHERE s.account_id = d.account_id ORDER BY s.as_of DESC LIMIT 1), 0), ?2 FROM delta d",
+            nativeQuery = true)
+    int snapshotBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Hora actual de la base de datos, la misma que usa el libro para fechar los
+     * movimientos.
+     */
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime currentTimestamp();
+
+    /**
+     * Intenta tomar un lock consultivo de PostgreSQL hasta el fin de la
+     * transacción, para que una sola instancia tome las fotos a la vez.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(?1)", nativeQuery = true)
+    boolean tryAdvisoryLock(long key);
+}
@@ -1,12 +1,23 @@
 package com.account.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.account.domain.persistence.Account;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -16,12 +27,77 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Query("SELECT a FROM Account a WHERE a.isActive = true")
     Page<Account> findActiveAll(Pageable pageable);
 
+    /**
+     * Primera página de cuentas activas en modo cursor, ordenadas por fecha de
+     * creación e ID.
+     */
+    @Query(value = "SELECT * FROM accounts a WHERE a.is_active = true "
+            + "ORDER BY a.created_at, a.id LIMIT ?1", nativeQuery = true)
+    List<Account> findActiveFirst(int limit);
+
+    /**
+     * Página de cuentas activas posteriores a la clave (created_at, id) dada. La
+     * comparación de filas permite a PostgreSQL buscar directamente en el índice
+     * en lugar de recorrer y descartar las filas previas.
+     */
+    @Query(value = "SELECT * FROM accounts a WHERE a.is_active = true AND (a.created_at, a.id) > (?1, ?2) "
+            + "ORDER BY a.created_at, a.id LIMIT ?3", nativeQuery = true)
+    List<Account> findActiveAfter(LocalDateTime createdAt, long id, int limit);
+
     @Query("SELECT a FROM  Account a WHERE a.isActive = true AND a.id = ?1")
     Optional<Account> findActiveById(Long id);
 
     @Query("SELECT a FROM Account a WHERE a.isActive = true AND a.accountNumber = ?1")
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    /**
+     * Busca una cuenta activa por su número tomando un bloqueo de escritura sobre
+     * la fila (SELECT ... FOR UPDATE) hasta el fin de la transacción.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.isActive = true AND a.accountNumber = ?1")
+    Optional<Account> findByAccountNumberForUpdate(String accountNumber);
+
+    @Query("SELECT a FROM Account a WHERE a.isActive = true AND a.balanceSlots > 0")
+    List<Account> findActiveWithBalanceSlots();
+
+    /**
+     * Busca una cuenta por su número sin importar si está activa.
+     */
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = ?1")
+    Optional<Account> findAnyByAccountNumber(String accountNumber);
+
+    /**
+     * Busca una cuenta en la tabla de archivo; si el número se reutilizó, la
+     * archivada más recientemente.
+     */
+    @Query(value = "SELECT * FROM accounts_archive a WHERE a.account_number = ?1 "
+            + "ORDER BY a.archived_at DESC LIMIT 1", nativeQuery = true)
+    Optional<Account> findArchivedByAccountNumber(String accountNumber);
+
+    @Query("SELECT COUNT(a) > 0 FROM Account a WHERE a.isActive = true AND a.accountNumber = ?1")
     boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Indica si existe una cuenta activa con el número dado creada desde el
+     * instante indicado.
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Account a WHERE a.isActive = true AND a.accountNumber = ?1 "
+            + "AND a.createdAt >= ?2")
+    boolean existsByAccountNumberCreatedSince(String accountNumber, LocalDateTime since);
+
+    /**
+     * Recorre los números de las cuentas activas de a bloques, sin cargar las
+     * entidades. Debe consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.isActive = true")
+    Stream<String> streamActiveAccountNumbers();
+
+    /**
+     * Números de las cuentas activas creadas desde el instante dado. Usa el
+     * índice parcial por fecha de creación.
+     */
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.isActive = true AND a.createdAt >= ?1")
+    List<String> findActiveAccountNumbersCreatedSince(LocalDateTime since);
 }
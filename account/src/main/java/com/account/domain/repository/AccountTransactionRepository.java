@@ -0,0 +1,28 @@
+package com.account.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.account.domain.persistence.AccountTransaction;
+
+@Repository
+public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, Long> {
+
+    /**
+     * Suma los movimientos de una cuenta en el intervalo {@code [from, to]}.
+     */
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM AccountTransaction t "
+            + "WHERE t.accountId = ?1 AND t.createdAt >= ?2 AND t.createdAt <= ?3")
+    BigDecimal sumBetween(Long accountId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Suma todos los movimientos de una cuenta hasta {@code to}, para cuentas que
+     * todavía no tienen foto.
+     */
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM AccountTransaction t WHERE t.accountId = ?1 AND t.createdAt <= ?2")
+    BigDecimal sumUntil(Long accountId, LocalDateTime to);
+}
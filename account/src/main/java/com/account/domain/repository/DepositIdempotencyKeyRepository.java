@@ -0,0 +1,36 @@
+package com.account.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.account.domain.persistence.DepositIdempotencyKey;
+
+@Repository
+public interface DepositIdempotencyKeyRepository extends JpaRepository<DepositIdempotencyKey, String> {
+
+    /**
+     * Reserva una clave de idempotencia. Si otra transacción ya la insertó,
+     * PostgreSQL espera su resultado y no inserta nada.
+     *
+     * @return 1 si la clave es nueva, 0 si ya existía
+     */
+    @Modifying
+    @Query(value = "INSERT INTO deposit_idempotency_keys (idempotency_key, account_number, amount, created_at) "
+            + "VALUES (?1, ?2, ?3, now()) ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(String idempotencyKey, String accountNumber, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE DepositIdempotencyKey k SET k.accountId = ?2, k.accountType = ?3, k.status = ?4, "
+            + "k.balance = ?5, k.customerId = ?6 WHERE k.idempotencyKey = ?1")
+    int storeResponse(String idempotencyKey, Long accountId, String accountType, String status,
+            BigDecimal balance, Long customerId);
+
+    @Modifying
+    @Query("DELETE FROM DepositIdempotencyKey k WHERE k.createdAt < ?1")
+    int deleteCreatedBefore(LocalDateTime limit);
+}
@@ -0,0 +1,23 @@
+package com.account.domain.util;
+
+/**
+ * Enum que representa los formatos de exportación del extracto de una cuenta.
+ * 
+ * - CSV: Un movimiento por línea con encabezado, en {@code text/csv}.
+ * - NDJSON: Un movimiento JSON por línea, en {@code application/x-ndjson}.
+ */
+public enum StatementFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    StatementFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
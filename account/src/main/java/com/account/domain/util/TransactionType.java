@@ -0,0 +1,18 @@
+package com.account.domain.util;
+
+/**
+ * Enum que representa los tipos de movimiento del libro de transacciones.
+ * 
+ * - APERTURA: Saldo inicial con el que se crea la cuenta.
+ * - DEPOSITO: Acreditación de un depósito sobre la cuenta.
+ * - TRANSFERENCIA_DEBITO: Salida de fondos por una transferencia (monto
+ * negativo).
+ * - TRANSFERENCIA_CREDITO: Ingreso de fondos por una transferencia.
+ */
+public enum TransactionType {
+
+    APERTURA,
+    DEPOSITO,
+    TRANSFERENCIA_DEBITO,
+    TRANSFERENCIA_CREDITO
+}
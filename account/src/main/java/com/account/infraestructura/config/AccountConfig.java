@@ -1,11 +1,56 @@
 package com.account.infraestructura.config;
 
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.account.domain.util.StatementFormat;
+import com.commons.archive.SoftDeleteArchiver;
+
 import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
 
 @Configuration
+@EnableScheduling
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
 public class AccountConfig {
 
+    /**
+     * Convierte el parámetro {@code format} del extracto sin distinguir
+     * mayúsculas, para aceptar tanto {@code csv} como {@code CSV}. Spring Boot
+     * registra los {@link Converter} declarados como beans en la conversión de
+     * parámetros de MVC.
+     */
+    @Bean
+    public Converter<String, StatementFormat> statementFormatConverter() {
+        // clase anónima y no lambda: Spring necesita resolver los tipos genéricos
+        return new Converter<String, StatementFormat>() {
+            @Override
+            public StatementFormat convert(String source) {
+                return StatementFormat.valueOf(source.trim().toUpperCase(Locale.ROOT));
+            }
+        };
+    }
+
+    /**
+     * Archiva en {@code accounts_archive} las filas dadas de baja hace más que
+     * la retención configurada.
+     */
+    @Bean
+    public SoftDeleteArchiver accountArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${account.archive.retention-days:30}") long retentionDays,
+            @Value("${account.archive.batch-size:500}") int batchSize,
+            @Value("${account.archive.pause-ms:200}") long pauseMs,
+            @Value("${account.archive.max-batches:100}") int maxBatches,
+            @Value("${account.archive.interval-ms:600000}") long intervalMs) {
+        return new SoftDeleteArchiver(jdbcTemplate, transactionManager, "accounts",
+                "id, account_number, account_type, status, balance, is_active, created_at, updated_at, deleted_at, customer_id, balance_slots",
+                new SoftDeleteArchiver.Settings(retentionDays, batchSize, pauseMs, maxBatches, intervalMs));
+    }
 }
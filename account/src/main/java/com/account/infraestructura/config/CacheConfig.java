@@ -0,0 +1,69 @@
+package com.account.infraestructura.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Configuración de cachés en memoria del servicio de cuentas.
+ *
+ * Las cachés son Caffeine acotadas por tamaño y TTL, con estadísticas
+ * habilitadas para que actuator publique aciertos, fallos y desalojos
+ * ({@code cache.gets}, {@code cache.evictions}). El proxy transaccional hace que
+ * las escrituras e invalidaciones hechas dentro de una transacción se apliquen
+ * recién después del commit. Las cargas sincronizadas usan
+ * {@link StripedLockCaffeineCache}, que no fija hilos virtuales.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Caché de {@code GetAccount} por número de cuenta.
+     */
+    public static final String ACCOUNTS_BY_NUMBER = "accountsByNumber";
+
+    /**
+     * Caché de {@code GetCustomerDetail} por email, usada al abrir cuentas.
+     */
+    public static final String CUSTOMERS_BY_EMAIL = "customersByEmail";
+
+    /**
+     * Caché negativa de emails sin cliente, de vida corta.
+     */
+    public static final String MISSING_CUSTOMER_EMAILS = "missingCustomerEmails";
+
+    /**
+     * Último {@code GetCustomerDetail} conocido por email, de vida larga. Solo se
+     * lee cuando el servicio de clientes no está disponible.
+     */
+    public static final String STALE_CUSTOMERS_BY_EMAIL = "staleCustomersByEmail";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${account.cache.by-number.spec:maximumSize=10000,expireAfterWrite=30s,recordStats}") String byNumberSpec,
+            @Value("${account.cache.customers-by-email.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String customersSpec,
+            @Value("${account.cache.missing-customer-emails.spec:maximumSize=10000,expireAfterWrite=5s,recordStats}") String missingCustomersSpec,
+            @Value("${account.cache.stale-customers-by-email.spec:maximumSize=50000,expireAfterWrite=24h,recordStats}") String staleCustomersSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(ACCOUNTS_BY_NUMBER) {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new StripedLockCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.setCacheSpecification(byNumberSpec);
+        caffeineCacheManager.registerCustomCache(CUSTOMERS_BY_EMAIL, Caffeine.from(customersSpec).build());
+        caffeineCacheManager.registerCustomCache(MISSING_CUSTOMER_EMAILS, Caffeine.from(missingCustomersSpec).build());
+        caffeineCacheManager.registerCustomCache(STALE_CUSTOMERS_BY_EMAIL, Caffeine.from(staleCustomersSpec).build());
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,89 @@
+package com.account.infraestructura.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Caché Caffeine cuya carga sincronizada ({@code @Cacheable(sync = true)}) se
+ * serializa con locks por franja de claves en lugar de hacerse dentro del
+ * {@code compute} de Caffeine.
+ *
+ * {@code compute} ejecuta el cargador bajo un bloque {@code synchronized}; como
+ * el cargador consulta la base, con hilos virtuales eso fija el hilo a su
+ * carrier durante toda la consulta. Con {@link ReentrantLock} el hilo virtual se
+ * libera mientras espera. Las escrituras e invalidaciones toman el mismo lock,
+ * de modo que una escritura posterior no puede ser pisada por una carga más
+ * vieja que estaba en curso.
+ */
+class StripedLockCaffeineCache extends CaffeineCache {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    StripedLockCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+            boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.get();
+            return value;
+        }
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            cached = get(key);
+            if (cached != null) {
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.get();
+                return value;
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            }
+            super.put(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            super.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            super.evict(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(Object key) {
+        return locks[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+}
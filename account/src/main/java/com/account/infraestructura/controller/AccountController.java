@@ -1,23 +1,41 @@
 package com.account.infraestructura.controller;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import com.account.application.dto.request.SaveAccount;
+import com.account.application.dto.request.SaveTransfer;
+import com.account.application.dto.response.AccountBalanceAt;
+import com.account.application.dto.response.BalanceAggregate;
 import com.account.application.dto.response.FullAccountInfo;
+import com.account.application.dto.response.TransferResult;
 import com.account.application.service.AccountService;
+import com.account.application.service.BulkDepositService;
+import com.account.application.service.StatementService;
+import com.account.domain.util.StatementFormat;
+import com.commons.dto.request.BulkDeposit;
 import com.commons.dto.request.Deposito;
+import com.commons.dto.response.CursorPage;
 import com.commons.dto.response.GetAccount;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -28,10 +46,17 @@ import jakarta.validation.Valid;
 @RequestMapping("/accounts")
 public class AccountController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final AccountService accountService;
+    private final BulkDepositService bulkDepositService;
+    private final StatementService statementService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, BulkDepositService bulkDepositService,
+            StatementService statementService) {
         this.accountService = accountService;
+        this.bulkDepositService = bulkDepositService;
+        this.statementService = statementService;
     }
 
     /**
@@ -46,6 +71,48 @@ public class AccountController {
         return ResponseEntity.ok(accountService.findAll(pageable));
     }
 
+    /**
+     * Obtiene las cuentas paginadas por cursor. Se activa al enviar el parámetro
+     * {@code cursor} (vacío para la primera página); cada respuesta incluye el
+     * cursor de la página siguiente.
+     *
+     * @param cursor Token opaco devuelto por la página anterior.
+     * @param size   Tamaño de página.
+     * @return Página de cuentas {@link GetAccount} con el cursor siguiente.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<GetAccount>> findAll(@RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(accountService.findAll(cursor, size));
+    }
+
+    /**
+     * Obtiene una lista paginada de las cuentas con los datos de sus dueños. Se
+     * activa con {@code include=customer}; los dueños de toda la página se
+     * resuelven en un único pedido al servicio de clientes.
+     *
+     * @param pageable Objeto con información de paginación.
+     * @return Página de cuentas {@link FullAccountInfo} con sus dueños.
+     */
+    @GetMapping(params = "include=customer")
+    public ResponseEntity<Page<FullAccountInfo>> findAllWithCustomers(Pageable pageable) {
+        return ResponseEntity.ok(accountService.findAllWithCustomers(pageable));
+    }
+
+    /**
+     * Obtiene las cuentas paginadas por cursor con los datos de sus dueños. Se
+     * activa al enviar {@code cursor} e {@code include=customer}.
+     *
+     * @param cursor Token opaco devuelto por la página anterior.
+     * @param size   Tamaño de página.
+     * @return Página de cuentas {@link FullAccountInfo} con el cursor siguiente.
+     */
+    @GetMapping(params = { "cursor", "include=customer" })
+    public ResponseEntity<CursorPage<FullAccountInfo>> findAllWithCustomers(@RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(accountService.findAllWithCustomers(cursor, size));
+    }
+
     /**
      * Crea una nueva cuenta bancaria junto con un nuevo cliente.
      *
@@ -60,14 +127,70 @@ public class AccountController {
     }
 
     /**
-     * Realiza un depósito en una cuenta existente.
+     * Realiza un depósito en una cuenta existente. Con el header
+     * {@code Idempotency-Key} los reintentos del mismo pedido devuelven la
+     * respuesta original sin aplicar el depósito otra vez.
      *
-     * @param deposito DTO con el número de cuenta y el monto a depositar.
+     * @param deposito       DTO con el número de cuenta y el monto a depositar.
+     * @param idempotencyKey Clave de idempotencia opcional del pedido.
      * @return DTO {@link GetAccount} con el estado actualizado de la cuenta.
      */
     @PatchMapping
-    public ResponseEntity<GetAccount> depositInAccount(@Valid @RequestBody Deposito deposito) {
-        return ResponseEntity.ok(accountService.depositInAccount(deposito));
+    public ResponseEntity<GetAccount> depositInAccount(@Valid @RequestBody Deposito deposito,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(accountService.depositInAccount(deposito, idempotencyKey));
+    }
+
+    /**
+     * Aplica depósitos en forma masiva. El cuerpo es un flujo NDJSON con un
+     * {@link BulkDeposit} por línea y la respuesta devuelve, también como NDJSON y
+     * a medida que se procesan, el resultado de cada línea.
+     *
+     * @param request  Pedido con el flujo de depósitos.
+     * @param response Respuesta donde se escriben los resultados.
+     * @throws IOException si falla la lectura o escritura del flujo.
+     */
+    @PostMapping(value = "/deposits/bulk", consumes = NDJSON, produces = NDJSON)
+    public void depositBulk(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        bulkDepositService.depositAll(request.getInputStream(), response.getOutputStream());
+    }
+
+    /**
+     * Transfiere fondos entre dos cuentas de forma atómica.
+     *
+     * @param transfer DTO con las cuentas de origen y destino y el monto.
+     * @return DTO {@link TransferResult} con el estado de ambas cuentas.
+     */
+    @PostMapping("/transfers")
+    public ResponseEntity<TransferResult> transfer(@Valid @RequestBody SaveTransfer transfer) {
+        return ResponseEntity.ok(accountService.transfer(transfer));
+    }
+
+    /**
+     * Exporta el extracto de una cuenta en CSV o NDJSON. Los movimientos se
+     * escriben en la respuesta a medida que se leen de la base.
+     *
+     * @param number   Número de cuenta.
+     * @param format   Formato de salida, {@code csv} o {@code ndjson}, sin distinguir
+     *                 mayúsculas.
+     * @param from     Inicio del período en formato ISO, inclusive; opcional.
+     * @param to       Fin del período en formato ISO, exclusive; opcional.
+     * @param response Respuesta donde se escribe el extracto.
+     * @throws IOException si falla la escritura del flujo.
+     */
+    @GetMapping("/{number}/statement")
+    public void statement(@PathVariable String number,
+            @RequestParam(defaultValue = "csv") StatementFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", String.format("attachment; filename=\"statement-%s.%s\"",
+                number, format.name().toLowerCase()));
+        statementService.writeStatement(number, format, from, to, response.getOutputStream());
     }
 
     /**
@@ -81,6 +204,68 @@ public class AccountController {
         return ResponseEntity.ok(accountService.findByNumber(number));
     }
 
+    /**
+     * Busca una cuenta por su número incluyendo las dadas de baja y las
+     * archivadas.
+     *
+     * @param number Número de cuenta a buscar.
+     * @return DTO {@link GetAccount} con los datos de la cuenta encontrada.
+     */
+    @GetMapping(value = "/by-number", params = "include_archived=true")
+    public ResponseEntity<GetAccount> findByNumberIncludingArchived(@RequestParam String number) {
+        return ResponseEntity.ok(accountService.findByNumberIncludingArchived(number));
+    }
+
+    /**
+     * Indica si existe una cuenta activa con el número dado.
+     *
+     * @param number Número de cuenta a verificar.
+     * @return {@code true} si la cuenta existe.
+     */
+    @GetMapping("/exists")
+    public ResponseEntity<Boolean> existsByNumber(@RequestParam String number) {
+        return ResponseEntity.ok(accountService.existsByNumber(number));
+    }
+
+    /**
+     * Obtiene el saldo de una cuenta a un instante dado, calculado desde el libro
+     * de transacciones.
+     *
+     * @param number Número de cuenta.
+     * @param at     Instante a consultar en formato ISO; si se omite, el saldo
+     *               actual.
+     * @return DTO {@link AccountBalanceAt} con el saldo a ese instante.
+     */
+    @GetMapping("/balance")
+    public ResponseEntity<AccountBalanceAt> balanceAt(@RequestParam String number,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(accountService.balanceAt(number, at));
+    }
+
+    /**
+     * Obtiene la cantidad de cuentas activas y el saldo total por tipo y estado
+     * de cuenta.
+     *
+     * @return Lista de {@link BalanceAggregate} por tipo y estado.
+     */
+    @GetMapping("/aggregates")
+    public ResponseEntity<List<BalanceAggregate>> balanceAggregates() {
+        return ResponseEntity.ok(accountService.balanceAggregates());
+    }
+
+    /**
+     * Promueve una cuenta al modo de sub-saldos o la devuelve al modo normal.
+     * Operación administrativa para cuentas con mucho tráfico de depósitos.
+     *
+     * @param number Número de cuenta.
+     * @param slots  Cantidad de sub-saldos; 0 vuelve al modo normal.
+     * @return DTO {@link GetAccount} con los datos de la cuenta.
+     */
+    @PatchMapping("/balance-slots")
+    public ResponseEntity<GetAccount> configureBalanceSlots(@RequestParam String number, @RequestParam int slots) {
+        return ResponseEntity.ok(accountService.configureBalanceSlots(number, slots));
+    }
+
     /**
      * Elimina una cuenta a partir de su número.
      *
@@ -0,0 +1,43 @@
+-- Tablas y columnas que agregaron las subcuentas de saldo, las claves de
+-- idempotencia, el libro de transacciones y las fotos de saldo. Van aparte del
+-- esquema base porque una base existente marca V1 como aplicado sin ejecutarlo
+-- (baseline-on-migrate); IF NOT EXISTS cubre las bases en las que ya las había
+-- creado Hibernate con ddl-auto: update.
+
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS balance_slots integer;
+
+CREATE TABLE IF NOT EXISTS account_balance_slots (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id  bigint         NOT NULL,
+    slot        integer        NOT NULL,
+    balance     numeric(19, 2) NOT NULL,
+    CONSTRAINT uk_account_balance_slots_account_slot UNIQUE (account_id, slot)
+);
+
+CREATE TABLE IF NOT EXISTS deposit_idempotency_keys (
+    idempotency_key  varchar(100)   PRIMARY KEY,
+    account_number   varchar(30)    NOT NULL,
+    amount           numeric(19, 2) NOT NULL,
+    account_id       bigint,
+    account_type     varchar(20),
+    status           varchar(20),
+    balance          numeric(19, 2),
+    customer_id      bigint,
+    created_at       timestamp(6)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS account_transactions (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id  bigint         NOT NULL,
+    type        varchar(20)    NOT NULL,
+    amount      numeric(19, 2) NOT NULL,
+    reference   varchar(100),
+    created_at  timestamp(6)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS account_balance_snapshots (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id  bigint         NOT NULL,
+    balance     numeric(19, 2) NOT NULL,
+    as_of       timestamp(6)   NOT NULL
+);
@@ -0,0 +1,17 @@
+-- Esquema base del servicio de cuentas, equivalente al que generaba Hibernate
+-- con ddl-auto: update. Las bases existentes lo marcan como aplicado al
+-- migrar por primera vez (baseline-on-migrate).
+
+CREATE TABLE accounts (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_number  varchar(30)    NOT NULL,
+    account_type    varchar(20)    NOT NULL,
+    status          varchar(20)    NOT NULL,
+    balance         numeric(19, 2) NOT NULL,
+    is_active       boolean        NOT NULL,
+    created_at      timestamp(6)   NOT NULL,
+    updated_at      timestamp(6),
+    deleted_at      timestamp(6),
+    customer_id     bigint         NOT NULL,
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number)
+);
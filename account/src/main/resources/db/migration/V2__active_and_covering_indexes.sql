@@ -0,0 +1,43 @@
+-- Índices parciales sobre las filas activas y de cobertura para las consultas
+-- de listado y búsqueda. Reemplazan a los que creaba Hibernate desde las
+-- anotaciones @Index.
+
+DROP INDEX IF EXISTS idx_accounts_created_at_id;
+DROP INDEX IF EXISTS idx_account_transactions_account_created;
+DROP INDEX IF EXISTS idx_account_transactions_created_at;
+DROP INDEX IF EXISTS idx_account_balance_snapshots_account_as_of;
+DROP INDEX IF EXISTS idx_account_balance_snapshots_as_of;
+
+-- Listado por cursor y COUNT de findActiveAll (index-only sobre el parcial).
+CREATE INDEX idx_accounts_active_created_at_id
+    ON accounts (created_at, id) WHERE is_active = true;
+
+-- findByAccountNumber, findByAccountNumberForUpdate y existsByAccountNumber.
+-- No incluye balance ni updated_at: indexarlos impediría las actualizaciones
+-- HOT de cada depósito.
+CREATE UNIQUE INDEX idx_accounts_active_account_number
+    ON accounts (account_number) WHERE is_active = true;
+
+-- Recarga del registro de cuentas particionadas: solo unas pocas filas.
+CREATE INDEX idx_accounts_active_balance_slots
+    ON accounts (account_number) WHERE is_active = true AND balance_slots > 0;
+
+-- Depuración de claves de idempotencia vencidas.
+CREATE INDEX idx_deposit_idempotency_keys_created_at
+    ON deposit_idempotency_keys (created_at);
+
+-- Saldo a un instante: suma de movimientos de una cuenta desde la foto.
+CREATE INDEX idx_account_transactions_account_created_at
+    ON account_transactions (account_id, created_at) INCLUDE (amount);
+
+-- Toma de fotos: movimientos de todas las cuentas en una ventana de tiempo.
+CREATE INDEX idx_account_transactions_created_at
+    ON account_transactions (created_at) INCLUDE (account_id, amount);
+
+-- Foto más reciente de una cuenta anterior a un instante.
+CREATE INDEX idx_account_balance_snapshots_account_as_of
+    ON account_balance_snapshots (account_id, as_of DESC) INCLUDE (balance);
+
+-- Último corte de la toma de fotos.
+CREATE INDEX idx_account_balance_snapshots_as_of
+    ON account_balance_snapshots (as_of);
@@ -0,0 +1,23 @@
+-- Totales de saldo y cantidad de cuentas activas por tipo y estado, mantenidos
+-- en la misma transacción que cada operación. Cada combinación se reparte en
+-- varias filas (stripes) para que las escrituras concurrentes no compitan por
+-- una única fila; la lectura suma las filas de todas las stripes.
+-- El fillfactor deja lugar en la página para actualizaciones HOT.
+
+CREATE TABLE account_balance_totals (
+    account_type  varchar(20)    NOT NULL,
+    status        varchar(20)    NOT NULL,
+    stripe        smallint       NOT NULL,
+    accounts      bigint         NOT NULL DEFAULT 0,
+    balance       numeric(19, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (account_type, status, stripe)
+) WITH (fillfactor = 50);
+
+-- Carga inicial desde las cuentas existentes, en la stripe 0.
+INSERT INTO account_balance_totals (account_type, status, stripe, accounts, balance)
+SELECT a.account_type, a.status, 0, COUNT(*), COALESCE(SUM(a.balance + COALESCE(s.total, 0)), 0)
+FROM accounts a
+LEFT JOIN (SELECT account_id, SUM(balance) AS total FROM account_balance_slots GROUP BY account_id) s
+    ON s.account_id = a.id
+WHERE a.is_active = true
+GROUP BY a.account_type, a.status;
@@ -0,0 +1,11 @@
+-- Bloques de números de cuenta. Cada nextval reserva un bloque de 1000
+-- números correlativos que la instancia reparte desde memoria; dos
+-- instancias nunca reciben el mismo bloque.
+
+CREATE SEQUENCE account_number_seq
+    AS bigint
+    START WITH 1
+    INCREMENT BY 1000
+    MINVALUE 1
+    MAXVALUE 999999999999
+    NO CYCLE;
@@ -0,0 +1,19 @@
+-- IDs por secuencia con incremento 50: Hibernate reserva 50 IDs por cada
+-- nextval (optimizador pooled) y puede agrupar los INSERT en batches JDBC, lo
+-- que IDENTITY impide.
+--
+-- La secuencia arranca por encima del mayor ID existente: con el optimizador
+-- pooled cada nextval es el tope del rango (valor - 49 .. valor), así que el
+-- primer rango empieza después de MAX(id). La columna deja de ser IDENTITY y
+-- toma su valor por defecto de la misma secuencia, para los INSERT que no
+-- pasan por Hibernate.
+
+CREATE SEQUENCE accounts_seq AS bigint INCREMENT BY 50 MINVALUE 1;
+
+LOCK TABLE accounts IN EXCLUSIVE MODE;
+
+SELECT setval('accounts_seq', COALESCE((SELECT MAX(id) FROM accounts), 0) + 50);
+
+ALTER TABLE accounts ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE accounts ALTER COLUMN id SET DEFAULT nextval('accounts_seq');
+ALTER SEQUENCE accounts_seq OWNED BY accounts.id;
@@ -0,0 +1,18 @@
+-- Archivo de cuentas dadas de baja. El archivador mueve las filas con baja
+-- lógica más vieja que el período de retención desde accounts a accounts_archive,
+-- de modo que la tabla principal y sus índices solo contienen datos vivos.
+-- Las columnas son las de accounts más la fecha de archivo; un cambio de columnas
+-- en accounts debe replicarse aquí y en el archivador.
+
+CREATE TABLE accounts_archive (LIKE accounts);
+
+ALTER TABLE accounts_archive
+    ADD COLUMN archived_at timestamp(6) NOT NULL DEFAULT now(),
+    ADD PRIMARY KEY (id);
+
+CREATE INDEX idx_accounts_archive_account_number
+    ON accounts_archive (account_number);
+
+-- Filas pendientes de archivar: solo las dadas de baja.
+CREATE INDEX idx_accounts_inactive_deleted_at
+    ON accounts (deleted_at) WHERE is_active = false;
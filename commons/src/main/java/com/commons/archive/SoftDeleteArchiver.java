@@ -0,0 +1,102 @@
+package com.commons.archive;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mueve a {@code <tabla>_archive} las filas dadas de baja ({@code is_active =
+ * false}) hace más que el período de retención.
+ *
+ * Cada lote es un único DELETE ... RETURNING encadenado a un INSERT en la misma
+ * sentencia y transacción, por lo que una fila nunca queda en las dos tablas ni
+ * en ninguna. Los lotes son chicos y se espera {@code pauseMs} entre uno y otro
+ * para no competir con el tráfico normal; las filas se toman con SKIP LOCKED,
+ * así varias instancias pueden archivar a la vez sin esperarse.
+ *
+ * Cada servicio lo declara como bean con su tabla, sus columnas y su
+ * configuración; la tarea se registra sola en el scheduler con el intervalo de
+ * {@link Settings}. Como la corrida espera entre lotes, el pool del scheduler
+ * ({@code spring.task.scheduling.pool.size}) debe tener más de un hilo para no
+ * demorar las demás tareas programadas.
+ */
+public class SoftDeleteArchiver implements SchedulingConfigurer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String archiveBatch;
+    private final Settings settings;
+
+    /**
+     * @param table   tabla de origen; el destino es {@code table + "_archive"}
+     * @param columns columnas a copiar, separadas por coma
+     */
+    public SoftDeleteArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            String table, String columns, Settings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveBatch = "WITH moved AS (DELETE FROM " + table + " WHERE id IN ("
+                + "SELECT id FROM " + table + " WHERE is_active = false AND deleted_at < ? "
+                + "ORDER BY deleted_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING " + columns + ") "
+                + "INSERT INTO " + table + "_archive (" + columns + ", archived_at) SELECT " + columns
+                + ", now() FROM moved";
+        this.settings = settings;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Duration interval = Duration.ofMillis(settings.intervalMs());
+        registrar.addFixedDelayTask(new FixedDelayTask(this::run, interval, interval));
+    }
+
+    /**
+     * Archiva lotes hasta que no quedan filas pendientes o se llega al máximo de
+     * lotes por corrida.
+     *
+     * @return cantidad de filas archivadas
+     */
+    public long archive() throws InterruptedException {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(settings.retentionDays()));
+        long total = 0;
+        for (int batch = 0; batch < settings.maxBatches(); batch++) {
+            Integer moved = transactionTemplate.execute(
+                    status -> jdbcTemplate.update(archiveBatch, cutoff, settings.batchSize()));
+            if (moved == null) {
+                return total;
+            }
+            total += moved;
+            if (moved < settings.batchSize()) {
+                return total;
+            }
+            Thread.sleep(settings.pauseMs());
+        }
+        return total;
+    }
+
+    private void run() {
+        try {
+            archive();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Configuración de una corrida de archivo.
+     *
+     * @param retentionDays días desde la baja antes de archivar una fila
+     * @param batchSize     filas por lote
+     * @param pauseMs       espera entre lotes
+     * @param maxBatches    máximo de lotes por corrida
+     * @param intervalMs    espera entre corridas
+     */
+    public record Settings(long retentionDays, int batchSize, long pauseMs, int maxBatches, long intervalMs) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.commons.config;
+
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Configuración del transporte HTTP de los clientes Feign.
+ *
+ * Por defecto los clientes usan Apache HttpClient 5 con un pool de conexiones
+ * keep-alive compartido; los límites del pool y los timeouts se configuran en
+ * {@code spring.cloud.openfeign.httpclient}. Con
+ * {@code spring.cloud.openfeign.http2client.enabled} se usa en su lugar el
+ * cliente HTTP del JDK, que multiplexa los pedidos sobre HTTP/2 (h2c).
+ *
+ * Se registra como autoconfiguración en los servicios que usan Feign con
+ * HttpClient 5.
+ */
+@AutoConfiguration
+@ConditionalOnClass({ HttpClientBuilderCustomizer.class, PoolingHttpClientConnectionManager.class,
+        MeterBinder.class })
+public class FeignConfig {
+
+    /**
+     * Cierra en segundo plano las conexiones vencidas o inactivas del pool, para
+     * no reutilizar una conexión que el servidor ya cerró.
+     */
+    @Bean
+    public HttpClientBuilderCustomizer idleConnectionEviction(
+            @Value("${feign.pool.idle-eviction-seconds:30}") long idleEvictionSeconds) {
+        return builder -> builder
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds));
+    }
+
+    /**
+     * Publica las estadísticas del pool de conexiones
+     * ({@code httpcomponents.httpclient.pool.*}) con el tag
+     * {@code httpclient=feign}.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
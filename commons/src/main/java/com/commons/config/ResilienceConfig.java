@@ -0,0 +1,63 @@
+package com.commons.config;
+
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuración de resiliencia de las llamadas entre servicios.
+ *
+ * Los clientes Feign se envuelven en un circuit breaker y un bulkhead de
+ * semáforo por método ({@code spring.cloud.openfeign.circuitbreaker}); sus
+ * umbrales se configuran en {@code resilience4j.*}. El estado, las llamadas
+ * rechazadas y la ocupación de los bulkheads los publica resilience4j-micrometer;
+ * aquí se agrega un contador de transiciones de estado.
+ *
+ * Se registra como autoconfiguración en los servicios que usan resilience4j y
+ * tienen un {@link MeterRegistry}; se evalúa después de la configuración de
+ * métricas de Actuator, que es la que crea el registro.
+ */
+@AutoConfiguration(after = { MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class })
+@ConditionalOnClass({ CircuitBreaker.class, MeterRegistry.class })
+@ConditionalOnBean(MeterRegistry.class)
+public class ResilienceConfig {
+
+    /**
+     * Cuenta las transiciones de estado de cada circuit breaker en
+     * {@code resilience4j.circuitbreaker.transitions}, con tags {@code name},
+     * {@code from} y {@code to}.
+     */
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitionMetrics(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> entryAddedEvent) {
+                CircuitBreaker circuitBreaker = entryAddedEvent.getAddedEntry();
+                circuitBreaker.getEventPublisher().onStateTransition(event -> meterRegistry
+                        .counter("resilience4j.circuitbreaker.transitions",
+                                "name", circuitBreaker.getName(),
+                                "from", event.getStateTransition().getFromState().name(),
+                                "to", event.getStateTransition().getToState().name())
+                        .increment());
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> entryRemoveEvent) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> entryReplacedEvent) {
+            }
+        };
+    }
+}
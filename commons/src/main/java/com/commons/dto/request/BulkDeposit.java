@@ -0,0 +1,28 @@
+package com.commons.dto.request;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Registro de una carga masiva de depósitos. La clave de idempotencia es
+ * opcional: si viene, el depósito se aplica una sola vez aunque el registro se
+ * reenvíe en otra carga.
+ */
+public record BulkDeposit(
+        @NotBlank(message = "{generic.notBlank}") @Size(max = 30, message = "{generic.size}") @JsonProperty(value = "account_number") String accountNumber,
+
+        @Positive @Digits(integer = 17, fraction = 2, message = "{generic.digits}") BigDecimal amount,
+
+        @Size(max = 100, message = "{generic.size}") @JsonProperty(value = "idempotency_key") String idempotencyKey) implements Serializable {
+
+    public Deposito toDeposito() {
+        return new Deposito(accountNumber, amount);
+    }
+}
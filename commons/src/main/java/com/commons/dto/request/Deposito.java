@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
@@ -12,5 +13,5 @@ import jakarta.validation.constraints.Size;
 public record Deposito(
         @NotBlank(message = "{generic.notBlank}") @Size(max = 30, message = "{generic.size}") @JsonProperty(value = "account_number") String accountNumber,
 
-        @Positive BigDecimal amount) implements Serializable {
+        @Positive @Digits(integer = 17, fraction = 2, message = "{generic.digits}") BigDecimal amount) implements Serializable {
 }
@@ -0,0 +1,46 @@
+package com.commons.dto.response;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado de un registro de una carga masiva de depósitos.
+ *
+ * @param line          número de línea del registro en el archivo NDJSON
+ * @param accountNumber número de cuenta del depósito, si se pudo leer
+ * @param status        {@code OK}, {@code REPETIDO} o {@code ERROR}
+ * @param message       detalle del error, o {@code null} si se aplicó
+ * @param permanent     {@code true} si el error no se resuelve reenviando el
+ *                      mismo depósito (cuenta inexistente, registro inválido);
+ *                      {@code false} si puede reintentarse
+ */
+public record BulkDepositResult(
+        long line,
+        @JsonProperty(value = "account_number") String accountNumber,
+        String status,
+        String message,
+        boolean permanent) implements Serializable {
+
+    public static BulkDepositResult ok(long line, String accountNumber) {
+        return new BulkDepositResult(line, accountNumber, "OK", null, false);
+    }
+
+    public static BulkDepositResult replayed(long line, String accountNumber) {
+        return new BulkDepositResult(line, accountNumber, "REPETIDO", "Depósito ya aplicado", false);
+    }
+
+    /**
+     * Error que no se resuelve reenviando el mismo depósito.
+     */
+    public static BulkDepositResult error(long line, String accountNumber, String message) {
+        return new BulkDepositResult(line, accountNumber, "ERROR", message, true);
+    }
+
+    /**
+     * Error transitorio: el depósito no se aplicó y puede reenviarse.
+     */
+    public static BulkDepositResult retryableError(long line, String accountNumber, String message) {
+        return new BulkDepositResult(line, accountNumber, "ERROR", message, false);
+    }
+}
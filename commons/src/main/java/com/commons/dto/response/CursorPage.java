@@ -0,0 +1,21 @@
+package com.commons.dto.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Página de resultados paginados por cursor.
+ *
+ * @param content    elementos de la página
+ * @param size       tamaño de página pedido
+ * @param nextCursor token para pedir la página siguiente; {@code null} si no hay
+ *                   más resultados
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        @JsonProperty(value = "next_cursor") String nextCursor) implements Serializable {
+
+}
@@ -0,0 +1,120 @@
+package com.commons.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Monto de dinero con dos decimales, guardado como cantidad entera de
+ * centavos en un {@code long}.
+ *
+ * Sumar, restar y comparar son operaciones sobre {@code long}, sin crear
+ * objetos intermedios como {@link BigDecimal}. Las operaciones son exactas: si
+ * el resultado no entra en un {@code long} se lanza {@link ArithmeticException}
+ * en lugar de desbordar, y {@link #of(BigDecimal)} rechaza montos con más de
+ * dos decimales en lugar de redondearlos.
+ *
+ * Se usa para acumular montos en memoria; los DTO y las entidades siguen
+ * usando {@link BigDecimal} y se convierten con {@link #of(BigDecimal)} y
+ * {@link #toBigDecimal()}.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * @param cents monto en centavos
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * @param amount monto con hasta dos decimales
+     * @throws ArithmeticException si tiene más de dos decimales o no entra en un
+     *                             {@code long} de centavos
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.movePointRight(2).longValueExact());
+    }
+
+    /**
+     * @param amount monto decimal, por ejemplo {@code "1500.25"}
+     * @throws NumberFormatException si no es un número
+     * @throws ArithmeticException   si tiene más de dos decimales o no entra en un
+     *                               {@code long} de centavos
+     */
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    /**
+     * @return el monto como {@link BigDecimal} con escala 2
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * @return el monto con dos decimales, por ejemplo {@code "-1500.05"}
+     */
+    @Override
+    public String toString() {
+        // Long.MIN_VALUE no tiene valor absoluto en un long
+        if (cents == Long.MIN_VALUE) {
+            return toBigDecimal().toPlainString();
+        }
+        long abs = Math.abs(cents);
+        long units = abs / 100;
+        int fraction = (int) (abs % 100);
+        StringBuilder text = new StringBuilder(24);
+        if (cents < 0) {
+            text.append('-');
+        }
+        return text.append(units).append('.').append(fraction < 10 ? "0" : "").append(fraction).toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.commons.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor de paginación por clave (keyset / seek).
+ *
+ * Identifica la última fila entregada por su clave de orden (fecha de
+ * creación) y su ID, que desempata filas con la misma fecha. La página
+ * siguiente se obtiene con {@code WHERE (created_at, id) > (?, ?)} sobre un
+ * índice, por lo que su costo no depende de cuán profunda sea la página.
+ *
+ * Para el cliente el cursor es un token opaco en Base64 URL-safe.
+ */
+public record KeysetCursor(LocalDateTime sortKey, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Codifica el cursor como token opaco.
+     */
+    public String encode() {
+        String raw = sortKey.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}.
+     *
+     * @param token token opaco; vacío o {@code null} indica la primera página
+     * @return el cursor, o {@code null} para la primera página
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido: " + token);
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, ex);
+        }
+    }
+}
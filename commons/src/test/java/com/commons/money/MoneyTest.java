@@ -0,0 +1,82 @@
+package com.commons.money;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+	@Test
+	void ofConvertsToCents() {
+		assertThat(Money.of(new BigDecimal("1500.25")).cents()).isEqualTo(150025);
+		assertThat(Money.of(new BigDecimal("-0.05")).cents()).isEqualTo(-5);
+		assertThat(Money.of(new BigDecimal("12")).cents()).isEqualTo(1200);
+	}
+
+	@Test
+	void ofAcceptsTrailingZerosBeyondTwoDecimals() {
+		assertThat(Money.of(new BigDecimal("10.5000"))).isEqualTo(Money.ofCents(1050));
+	}
+
+	@Test
+	void ofRejectsMoreThanTwoDecimalsInsteadOfRounding() {
+		assertThatThrownBy(() -> Money.of(new BigDecimal("10.005")))
+				.isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> Money.parse("0.001"))
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void ofRejectsAmountsOutsideLongCents() {
+		assertThatThrownBy(() -> Money.of(new BigDecimal("92233720368547758.08")))
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void plusOverflowThrows() {
+		Money max = Money.ofCents(Long.MAX_VALUE);
+		assertThatThrownBy(() -> max.plus(Money.ofCents(1)))
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void minusAndNegateOverflowThrow() {
+		Money min = Money.ofCents(Long.MIN_VALUE);
+		assertThatThrownBy(() -> min.minus(Money.ofCents(1)))
+				.isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(min::negate)
+				.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void arithmeticIsExact() {
+		Money total = Money.ZERO;
+		for (int i = 0; i < 10; i++) {
+			total = total.plus(Money.parse("0.10"));
+		}
+		assertThat(total).isEqualTo(Money.parse("1.00"));
+		assertThat(total.minus(Money.parse("1")).isZero()).isTrue();
+	}
+
+	@Test
+	void toBigDecimalHasScaleTwo() {
+		assertThat(Money.ofCents(1200).toBigDecimal()).isEqualTo(new BigDecimal("12.00"));
+		assertThat(Money.ZERO.toBigDecimal().scale()).isEqualTo(2);
+	}
+
+	@Test
+	void toStringPadsTheFraction() {
+		assertThat(Money.ofCents(150005)).hasToString("1500.05");
+		assertThat(Money.ofCents(-5)).hasToString("-0.05");
+		assertThat(Money.ofCents(Long.MIN_VALUE)).hasToString("-92233720368547758.08");
+	}
+
+	@Test
+	void compareToOrdersByCents() {
+		assertThat(Money.parse("1.01")).isGreaterThan(Money.parse("1.00"));
+		assertThat(Money.parse("-1").signum()).isEqualTo(-1);
+	}
+}
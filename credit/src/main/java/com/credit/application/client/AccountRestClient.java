@@ -2,14 +2,40 @@ package com.credit.application.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.commons.dto.request.Deposito;
 import com.commons.dto.response.GetAccount;
 
-@FeignClient(name = "${feign.clients.account.name}", url = "${feign.clients.account.url}/api/v1/accounts")
+@FeignClient(name = "${feign.clients.account.name}", url = "${feign.clients.account.url}/api/v1/accounts", fallbackFactory = AccountRestClientFallbackFactory.class)
 public interface AccountRestClient {
 
-    ResponseEntity<GetAccount> despositInAccount(@RequestBody Deposito deposito);
+    /**
+     * Realiza un depósito en el servicio de cuentas. La clave de idempotencia
+     * hace seguro reintentar el mismo pedido: el depósito se aplica una sola vez.
+     */
+    @PatchMapping
+    ResponseEntity<GetAccount> despositInAccount(@RequestBody Deposito deposito,
+            @RequestHeader("Idempotency-Key") String idempotencyKey);
+
+    /**
+     * Aplica un grupo de depósitos con una sola llamada. El cuerpo y la
+     * respuesta son NDJSON: un {@code BulkDeposit} por línea y un
+     * {@code BulkDepositResult} por línea, en el mismo orden. Cada depósito lleva
+     * su propia clave de idempotencia.
+     */
+    @PostMapping(value = "/deposits/bulk", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    String depositBulk(@RequestBody String deposits);
+
+    /**
+     * Indica si existe una cuenta activa con el número dado.
+     */
+    @GetMapping("/exists")
+    ResponseEntity<Boolean> existsByNumber(@RequestParam("number") String number);
 
 }
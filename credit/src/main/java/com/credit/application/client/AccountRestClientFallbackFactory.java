@@ -0,0 +1,53 @@
+package com.credit.application.client;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.commons.dto.request.Deposito;
+import com.commons.dto.response.GetAccount;
+import com.credit.application.exceptions.AccountServiceException;
+
+import feign.FeignException;
+
+/**
+ * Respuesta de respaldo de {@link AccountRestClient} cuando el circuit breaker
+ * está abierto, el bulkhead rechaza la llamada o el servicio de cuentas no
+ * responde.
+ *
+ * Un depósito o una consulta de existencia no pueden responderse desde una
+ * caché, así que fallan de inmediato
+ * sin esperar al servicio. Las respuestas HTTP de error del servicio se
+ * propagan tal cual.
+ */
+@Component
+public class AccountRestClientFallbackFactory implements FallbackFactory<AccountRestClient> {
+
+    @Override
+    public AccountRestClient create(Throwable cause) {
+        return new AccountRestClient() {
+
+            @Override
+            public ResponseEntity<GetAccount> despositInAccount(Deposito deposito, String idempotencyKey) {
+                throw unavailable(cause);
+            }
+
+            @Override
+            public String depositBulk(String deposits) {
+                throw unavailable(cause);
+            }
+
+            @Override
+            public ResponseEntity<Boolean> existsByNumber(String number) {
+                throw unavailable(cause);
+            }
+        };
+    }
+
+    private static RuntimeException unavailable(Throwable cause) {
+        if (cause instanceof FeignException ex && ex.status() >= 400) {
+            return ex;
+        }
+        return new AccountServiceException("Servicio de cuentas no disponible", cause);
+    }
+}
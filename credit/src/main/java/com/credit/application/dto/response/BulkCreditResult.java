@@ -0,0 +1,30 @@
+package com.credit.application.dto.response;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado de un registro de una originación masiva de créditos.
+ *
+ * @param line          número de línea del registro en el archivo NDJSON
+ * @param creditId      ID del crédito registrado, o {@code null} si hubo error
+ * @param accountNumber número de cuenta del crédito, si se pudo leer
+ * @param status        {@code OK} o {@code ERROR}
+ * @param message       detalle del error, o {@code null} si se registró
+ */
+public record BulkCreditResult(
+        long line,
+        @JsonProperty(value = "credit_id") Long creditId,
+        @JsonProperty(value = "account_number") String accountNumber,
+        String status,
+        String message) implements Serializable {
+
+    public static BulkCreditResult ok(long line, Long creditId, String accountNumber) {
+        return new BulkCreditResult(line, creditId, accountNumber, "OK", null);
+    }
+
+    public static BulkCreditResult error(long line, String accountNumber, String message) {
+        return new BulkCreditResult(line, null, accountNumber, "ERROR", message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.credit.application.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que se lanza cuando el servicio de cuentas informa que la cuenta
+ * de un crédito nuevo no existe. Se responde como 422: el pedido es válido pero
+ * no se puede otorgar.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class AccountNotFoundException extends RuntimeException {
+    public AccountNotFoundException(String accountNumber) {
+        super("No se encontró la cuenta con número: " + accountNumber);
+    }
+}
@@ -0,0 +1,18 @@
+package com.credit.application.exceptions;
+
+import java.math.BigDecimal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que se lanza cuando un crédito nuevo haría superar al cliente el
+ * límite de exposición. Se responde como 422: el pedido es válido pero no se
+ * puede otorgar.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class CreditLimitExceededException extends RuntimeException {
+    public CreditLimitExceededException(Long customerId, BigDecimal limit) {
+        super("El cliente " + customerId + " superaría el límite de exposición de " + limit.toPlainString());
+    }
+}
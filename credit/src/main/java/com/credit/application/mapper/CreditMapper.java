@@ -1,9 +1,13 @@
 package com.credit.application.mapper;
 
+import java.time.LocalDateTime;
+
 import com.commons.dto.request.Deposito;
 import com.credit.application.dto.request.SaveCredit;
 import com.credit.application.dto.response.GetCredit;
 import com.credit.domain.persistence.Credit;
+import com.credit.domain.persistence.CreditDisbursement;
+import com.credit.domain.util.DisbursementStatus;
 
 public class CreditMapper {
 
@@ -44,4 +48,17 @@ public class CreditMapper {
                 credit.amount());
     }
 
+    public static CreditDisbursement toDisbursement(Credit credit) {
+        if (credit == null)
+            return null;
+        return CreditDisbursement.builder()
+                .creditId(credit.getId())
+                .accountNumber(credit.getAccountNumber())
+                .amount(credit.getAmount())
+                .status(DisbursementStatus.PENDIENTE)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.credit.application.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Servicio de originación masiva de créditos en formato NDJSON.
+ */
+public interface BulkCreditService {
+
+    /**
+     * Lee créditos ({@code SaveCredit}) desde un flujo NDJSON, uno por línea, los
+     * registra en lotes junto con su desembolso y escribe un resultado NDJSON por
+     * registro a medida que cada lote se confirma.
+     *
+     * @param input  flujo de entrada con un crédito JSON por línea
+     * @param output flujo de salida donde se escribe un resultado por línea
+     * @throws IOException si falla la lectura o la escritura de los flujos
+     */
+    void registerAll(InputStream input, OutputStream output) throws IOException;
+}
@@ -3,6 +3,7 @@ package com.credit.application.service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.commons.dto.response.CursorPage;
 import com.credit.application.dto.request.SaveCredit;
 import com.credit.application.dto.response.GetCredit;
 
@@ -16,6 +17,16 @@ public interface CreditService {
 
     Page<GetCredit> findAll(Pageable pageable);
 
+    /**
+     * Obtiene los créditos activos paginados por cursor (keyset), ordenados por
+     * fecha de creación.
+     *
+     * @param cursor token devuelto por la página anterior; vacío para la primera.
+     * @param size   tamaño de página.
+     * @return una página de créditos con el cursor de la siguiente.
+     */
+    CursorPage<GetCredit> findAll(String cursor, int size);
+
     /**
      * Busca un crédito por su ID.
      *
@@ -24,6 +35,14 @@ public interface CreditService {
      */
     GetCredit findById(Long id);
 
+    /**
+     * Busca un crédito por su ID incluyendo los dados de baja y los archivados.
+     *
+     * @param id identificador del crédito.
+     * @return DTO con los datos del crédito.
+     */
+    GetCredit findByIdIncludingArchived(Long id);
+
     /**
      * Registra un nuevo crédito y realiza un depósito en la cuenta correspondiente.
      *
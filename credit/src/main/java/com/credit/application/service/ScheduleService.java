@@ -0,0 +1,25 @@
+package com.credit.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.credit.application.exceptions.CreditNotFoundException;
+import com.credit.domain.util.AmortizationSystem;
+
+/**
+ * Servicio de consulta del cuadro de amortización de un crédito.
+ */
+public interface ScheduleService {
+
+    /**
+     * Escribe en JSON el cuadro de amortización de un crédito activo, cuota por
+     * cuota.
+     *
+     * @param id     identificador del crédito
+     * @param system sistema de amortización
+     * @param output flujo de salida del cuadro
+     * @throws IOException             si falla la escritura del flujo
+     * @throws CreditNotFoundException si no se encuentra el crédito
+     */
+    void writeSchedule(Long id, AmortizationSystem system, OutputStream output) throws IOException;
+}
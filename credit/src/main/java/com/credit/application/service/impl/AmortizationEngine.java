@@ -0,0 +1,202 @@
+package com.credit.application.service.impl;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.commons.money.Money;
+import com.credit.domain.util.AmortizationSystem;
+
+/**
+ * Motor de cálculo de cuadros de amortización.
+ *
+ * Los montos se calculan en centavos sobre arreglos de {@code long}, una
+ * posición por cuota, sin crear un objeto por fila. La tasa del crédito es
+ * nominal anual y se aplica por mes; el interés de cada cuota se redondea al
+ * centavo (mitad hacia arriba) con aritmética entera, y la última cuota absorbe
+ * la diferencia de redondeo para que el capital amortizado sea exactamente el
+ * monto del crédito.
+ *
+ * El cuadro depende solo del monto, el plazo, la tasa y el sistema, así que se
+ * guarda en un LRU acotado por esos cuatro valores: los créditos con las mismas
+ * condiciones comparten el mismo cuadro.
+ */
+@Component
+public class AmortizationEngine {
+
+    // la tasa tiene escala 4: se trabaja en diezmilésimos, y doce meses por año
+    private static final long RATE_DIVISOR = 10_000L * 12;
+
+    private final Map<Key, Schedule> recent;
+    // ReentrantLock en lugar de synchronized: no fija hilos virtuales
+    private final ReentrantLock recentLock = new ReentrantLock();
+
+    public AmortizationEngine(@Value("${credit.schedule.cache-size:1000}") int cacheSize) {
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Schedule> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el cuadro de amortización para las condiciones dadas, desde el LRU
+     * o calculándolo.
+     *
+     * @param amount       monto del crédito
+     * @param termMonths   plazo en meses
+     * @param interestRate tasa nominal anual, con hasta cuatro decimales
+     * @param system       sistema de amortización
+     * @throws ArithmeticException si el monto no entra en centavos o la tasa
+     *                             tiene más de cuatro decimales
+     */
+    public Schedule schedule(BigDecimal amount, int termMonths, BigDecimal interestRate,
+            AmortizationSystem system) {
+        Key key = new Key(Money.of(amount).cents(), termMonths,
+                interestRate.movePointRight(4).longValueExact(), system);
+        Schedule schedule = cached(key);
+        if (schedule == null) {
+            // dos pedidos simultáneos pueden calcular el mismo cuadro; el resultado es igual
+            schedule = compute(key);
+            recentLock.lock();
+            try {
+                recent.put(key, schedule);
+            } finally {
+                recentLock.unlock();
+            }
+        }
+        return schedule;
+    }
+
+    private Schedule cached(Key key) {
+        recentLock.lock();
+        try {
+            return recent.get(key);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private static Schedule compute(Key key) {
+        int n = key.termMonths();
+        long[] principal = new long[n];
+        long[] interest = new long[n];
+        long[] balance = new long[n];
+        long remaining = key.amountCents();
+        long payment = key.system() == AmortizationSystem.FRANCES ? frenchPayment(key) : 0;
+        long constantPrincipal = key.amountCents() / n;
+
+        for (int i = 0; i < n; i++) {
+            interest[i] = monthlyInterest(remaining, key.rateTenThousandths());
+            if (i == n - 1) {
+                principal[i] = remaining;
+            } else {
+                principal[i] = switch (key.system()) {
+                    case FRANCES -> Math.min(Math.max(payment - interest[i], 0), remaining);
+                    case ALEMAN -> constantPrincipal;
+                    case AMERICANO -> 0;
+                };
+            }
+            remaining -= principal[i];
+            balance[i] = remaining;
+        }
+        return new Schedule(principal, interest, balance);
+    }
+
+    /**
+     * Cuota constante del sistema francés, redondeada al centavo. El redondeo de
+     * la cuota se corrige en la última.
+     */
+    private static long frenchPayment(Key key) {
+        int n = key.termMonths();
+        if (key.rateTenThousandths() == 0) {
+            return Math.ceilDiv(key.amountCents(), n);
+        }
+        double rate = (double) key.rateTenThousandths() / RATE_DIVISOR;
+        return Math.round(key.amountCents() * rate / (1 - Math.pow(1 + rate, -n)));
+    }
+
+    /**
+     * Interés mensual de un saldo en centavos, redondeado mitad hacia arriba.
+     * Se separa el saldo en cociente y resto del divisor para no desbordar.
+     */
+    private static long monthlyInterest(long balance, long rateTenThousandths) {
+        long quotient = balance / RATE_DIVISOR;
+        long remainder = balance % RATE_DIVISOR;
+        return quotient * rateTenThousandths + (remainder * rateTenThousandths + RATE_DIVISOR / 2) / RATE_DIVISOR;
+    }
+
+    /**
+     * Condiciones que determinan un cuadro de amortización.
+     */
+    private record Key(long amountCents, int termMonths, long rateTenThousandths, AmortizationSystem system) {
+    }
+
+    /**
+     * Cuadro de amortización en centavos: el índice {@code i} corresponde a la
+     * cuota {@code i + 1}. Los cuadros se comparten desde el LRU, por eso los
+     * arreglos no se exponen y solo se leen por índice.
+     */
+    public static final class Schedule {
+
+        private final long[] principal;
+        private final long[] interest;
+        private final long[] balance;
+
+        private Schedule(long[] principal, long[] interest, long[] balance) {
+            this.principal = principal;
+            this.interest = interest;
+            this.balance = balance;
+        }
+
+        public int size() {
+            return principal.length;
+        }
+
+        /**
+         * @return capital amortizado en la cuota {@code i + 1}
+         */
+        public long principal(int i) {
+            return principal[i];
+        }
+
+        /**
+         * @return interés de la cuota {@code i + 1}
+         */
+        public long interest(int i) {
+            return interest[i];
+        }
+
+        /**
+         * @return saldo de capital después de la cuota {@code i + 1}
+         */
+        public long balance(int i) {
+            return balance[i];
+        }
+
+        public long payment(int i) {
+            return principal[i] + interest[i];
+        }
+
+        public long totalPrincipal() {
+            return sum(principal);
+        }
+
+        public long totalInterest() {
+            return sum(interest);
+        }
+
+        private static long sum(long[] values) {
+            long total = 0;
+            for (long value : values) {
+                total += value;
+            }
+            return total;
+        }
+    }
+}
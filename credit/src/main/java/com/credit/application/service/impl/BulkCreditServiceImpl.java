@@ -0,0 +1,264 @@
+package com.credit.application.service.impl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.credit.application.dto.request.SaveCredit;
+import com.credit.application.dto.response.BulkCreditResult;
+import com.credit.application.service.BulkCreditService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Implementación de la originación masiva de créditos.
+ *
+ * El flujo NDJSON se lee en lotes de {@code chunkSize} líneas; las líneas de
+ * cada lote se parsean y validan en paralelo, y los créditos válidos se
+ * insertan con un batch JDBC junto con su fila del outbox de desembolsos, en
+ * una sola transacción por lote. Los depósitos los entrega después
+ * {@link DisbursementRelay}, agrupados en llamadas a la carga masiva de
+ * depósitos del servicio de cuentas.
+ *
+ * Los IDs se toman de {@code credits_seq} con la misma convención que el
+ * optimizador pooled de Hibernate: cada nextval reserva un rango de
+ * {@value #ID_BLOCK} IDs, así que un lote de mil créditos cuesta veinte
+ * valores de la secuencia en una sola consulta.
+ */
+@Service
+public class BulkCreditServiceImpl implements BulkCreditService {
+
+    // debe coincidir con el INCREMENT BY de credits_seq y el allocationSize de Credit
+    private static final int ID_BLOCK = 50;
+
+    private static final String NEXT_ID_BLOCKS = "SELECT nextval('credits_seq') FROM generate_series(1, ?)";
+
+    private static final String TAKEN_ACCOUNTS = "SELECT account_number FROM credits WHERE account_number = ANY (?)";
+
+    private static final String INSERT_CREDIT = "INSERT INTO credits (id, amount, term_months, interest_rate, "
+            + "credit_type, account_number, customer_id, is_active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, true, now(), now())";
+
+    private static final String INSERT_DISBURSEMENT = "INSERT INTO credit_disbursements (credit_id, account_number, "
+            + "amount, status, attempts, next_attempt_at, created_at) "
+            + "VALUES (?, ?, ?, 'PENDIENTE', 0, now(), now())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CreditExposure creditExposure;
+    private final Validator validator;
+    private final ObjectReader creditReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+
+    public BulkCreditServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            CreditExposure creditExposure, Validator validator, ObjectMapper objectMapper,
+            @Value("${credit.bulk.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.creditExposure = creditExposure;
+        this.validator = validator;
+        this.creditReader = objectMapper.readerFor(SaveCredit.class);
+        this.resultWriter = objectMapper.writerFor(BulkCreditResult.class);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Lee, valida y registra los créditos lote a lote. Los registros inválidos se
+     * informan como {@code ERROR} sin afectar al resto del lote.
+     */
+    @Override
+    public void registerAll(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new Line(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                write(apply(parseAll(chunk)), writer);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(apply(parseAll(chunk)), writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Parsea y valida las líneas de un lote en paralelo, conservando el orden de
+     * entrada.
+     */
+    private List<Record> parseAll(List<Line> lines) {
+        return IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> parse(lines.get(i)))
+                .toList();
+    }
+
+    private Record parse(Line line) {
+        SaveCredit credit;
+        try {
+            credit = creditReader.readValue(line.text());
+        } catch (JsonProcessingException ex) {
+            return new Record(line.number(), null, "JSON inválido: " + ex.getOriginalMessage());
+        }
+        Set<ConstraintViolation<SaveCredit>> violations = validator.validate(credit);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; "));
+            return new Record(line.number(), credit, message);
+        }
+        return new Record(line.number(), credit, null);
+    }
+
+    /**
+     * Registra los créditos válidos de un lote en una transacción y arma el
+     * resultado de cada registro, en el orden de entrada. Una cuenta admite un
+     * solo crédito: se rechazan las que ya tienen uno y las repetidas en el lote.
+     * La exposición se suma por cliente con una sola sentencia; si el total del
+     * lote de un cliente supera su límite, se rechazan todos sus créditos del
+     * lote.
+     */
+    private List<BulkCreditResult> apply(List<Record> chunk) {
+        Map<Record, String> errors = new HashMap<>();
+        Map<Record, Long> ids = new HashMap<>();
+        List<Record> valid = chunk.stream().filter(record -> record.error() == null).toList();
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(valid, errors, ids));
+            } catch (DataAccessException ex) {
+                ids.clear();
+                for (Record record : valid) {
+                    errors.put(record, "Error al registrar el lote: " + ex.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        List<BulkCreditResult> results = new ArrayList<>(chunk.size());
+        for (Record record : chunk) {
+            String accountNumber = record.credit() != null ? record.credit().accountNumber() : null;
+            String error = record.error() != null ? record.error() : errors.get(record);
+            results.add(error == null
+                    ? BulkCreditResult.ok(record.line(), ids.get(record), accountNumber)
+                    : BulkCreditResult.error(record.line(), accountNumber, error));
+        }
+        return results;
+    }
+
+    private void insert(List<Record> valid, Map<Record, String> errors, Map<Record, Long> ids) {
+        Set<String> taken = new HashSet<>(jdbcTemplate.queryForList(TAKEN_ACCOUNTS, String.class,
+                (Object) valid.stream().map(record -> record.credit().accountNumber()).toArray(String[]::new)));
+        List<Record> candidates = new ArrayList<>(valid.size());
+        SortedMap<Long, BigDecimal> amounts = new TreeMap<>();
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Record record : valid) {
+            SaveCredit credit = record.credit();
+            // add devuelve false si la cuenta ya tiene crédito o se repite en el lote
+            if (taken.add(credit.accountNumber())) {
+                candidates.add(record);
+                amounts.merge(credit.clientId(), credit.amount(), BigDecimal::add);
+                counts.merge(credit.clientId(), 1, Integer::sum);
+            } else {
+                errors.put(record, "La cuenta ya tiene un crédito");
+            }
+        }
+
+        Set<Long> withinLimit = creditExposure.reserveAll(amounts, counts);
+        List<Record> accepted = new ArrayList<>(candidates.size());
+        for (Record record : candidates) {
+            if (withinLimit.contains(record.credit().clientId())) {
+                accepted.add(record);
+            } else {
+                errors.put(record, "El cliente superaría el límite de exposición de "
+                        + creditExposure.limit().toPlainString());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        long[] newIds = nextIds(accepted.size());
+        List<Object[]> credits = new ArrayList<>(accepted.size());
+        List<Object[]> disbursements = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            SaveCredit credit = accepted.get(i).credit();
+            credits.add(new Object[] { newIds[i], credit.amount(), credit.termMonths(), credit.interestRate(),
+                    credit.creditType().name(), credit.accountNumber(), credit.clientId() });
+            disbursements.add(new Object[] { newIds[i], credit.accountNumber(), credit.amount() });
+            ids.put(accepted.get(i), newIds[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_CREDIT, credits);
+        jdbcTemplate.batchUpdate(INSERT_DISBURSEMENT, disbursements);
+    }
+
+    /**
+     * Reserva {@code count} IDs de {@code credits_seq}. Cada valor de la secuencia
+     * es el tope de un rango de {@value #ID_BLOCK} IDs.
+     */
+    private long[] nextIds(int count) {
+        List<Long> blocks = jdbcTemplate.queryForList(NEXT_ID_BLOCKS, Long.class,
+                Math.ceilDiv(count, ID_BLOCK));
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = blocks.get(i / ID_BLOCK) - ID_BLOCK + 1 + i % ID_BLOCK;
+        }
+        return ids;
+    }
+
+    private void write(List<BulkCreditResult> results, Writer writer) throws IOException {
+        for (BulkCreditResult result : results) {
+            writer.write(resultWriter.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Línea no vacía del flujo con su número.
+     */
+    private record Line(long number, String text) {
+    }
+
+    /**
+     * Registro leído del flujo: el crédito y, si no es válido, el motivo.
+     */
+    private record Record(long line, SaveCredit credit, String error) {
+    }
+}
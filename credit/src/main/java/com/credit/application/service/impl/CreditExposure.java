@@ -0,0 +1,112 @@
+package com.credit.application.service.impl;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposición por cliente en {@code customer_credit_exposure}: cantidad y suma
+ * de sus créditos activos.
+ *
+ * El control de límite y la actualización son una sola sentencia sobre la fila
+ * del cliente: un INSERT ... ON CONFLICT DO UPDATE cuyo {@code WHERE} solo deja
+ * sumar si el total sigue dentro del límite. La fila queda bloqueada hasta el
+ * commit, así que dos créditos simultáneos del mismo cliente no pueden superar
+ * juntos el límite, y el costo no depende de cuántos créditos tenga el cliente.
+ *
+ * Cada escritura toma además, en modo compartido, el lock consultivo de la
+ * partición del cliente ({@code customer_id / partitionWidth}); la conciliación
+ * toma el mismo lock en modo exclusivo mientras recalcula la partición, de modo
+ * que no pierde altas concurrentes.
+ */
+@Component
+public class CreditExposure {
+
+    private static final long PARTITION_LOCK_BASE = 0x4558_0000_0000_0000L;
+
+    // el ORDER BY bloquea las filas en orden de cliente: dos lotes no se bloquean mutuamente
+    private static final String RESERVE = "INSERT INTO customer_credit_exposure AS e (customer_id, credits, "
+            + "exposure, updated_at) SELECT u.customer_id, u.credits, u.exposure, now() "
+            + "FROM unnest(?::bigint[], ?::int[], ?::varchar[]::numeric[]) AS u(customer_id, credits, exposure) "
+            + "CROSS JOIN LATERAL (SELECT pg_advisory_xact_lock_shared(? + u.customer_id / ?)) l "
+            + "WHERE u.exposure <= ? ORDER BY u.customer_id "
+            + "ON CONFLICT (customer_id) DO UPDATE SET credits = e.credits + excluded.credits, "
+            + "exposure = e.exposure + excluded.exposure, updated_at = now() "
+            + "WHERE e.exposure + excluded.exposure <= ? RETURNING customer_id";
+
+    private static final String RELEASE = "WITH l AS (SELECT pg_advisory_xact_lock_shared(?)) "
+            + "UPDATE customer_credit_exposure SET credits = credits - 1, exposure = exposure - ?, "
+            + "updated_at = now() FROM l WHERE customer_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BigDecimal limit;
+    private final long partitionWidth;
+
+    public CreditExposure(JdbcTemplate jdbcTemplate,
+            @Value("${credit.exposure.limit:10000000.00}") BigDecimal limit,
+            @Value("${credit.exposure.partition-width:10000}") long partitionWidth) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.limit = limit;
+        this.partitionWidth = partitionWidth;
+    }
+
+    /**
+     * Suma un crédito a la exposición del cliente si no supera el límite, en la
+     * transacción actual.
+     *
+     * @return {@code true} si se sumó; {@code false} si superaría el límite
+     */
+    public boolean reserve(Long customerId, BigDecimal amount) {
+        return !reserveAll(new TreeMap<>(Map.of(customerId, amount)), Map.of(customerId, 1)).isEmpty();
+    }
+
+    /**
+     * Suma los créditos de un lote a la exposición de cada cliente con una sola
+     * sentencia. Un cliente cuyo total del lote superaría el límite no suma nada.
+     *
+     * @param amounts monto total del lote por cliente
+     * @param counts  cantidad de créditos del lote por cliente
+     * @return los clientes a los que se les sumó el lote
+     */
+    public Set<Long> reserveAll(SortedMap<Long, BigDecimal> amounts, Map<Long, Integer> counts) {
+        if (amounts.isEmpty()) {
+            return new HashSet<>();
+        }
+        Long[] customers = amounts.keySet().toArray(Long[]::new);
+        Integer[] credits = amounts.keySet().stream().map(counts::get).toArray(Integer[]::new);
+        // el driver no codifica BigDecimal[]: los montos viajan como texto y se convierten en la consulta
+        String[] exposures = amounts.values().stream().map(BigDecimal::toPlainString).toArray(String[]::new);
+        return new HashSet<>(jdbcTemplate.queryForList(RESERVE, Long.class, customers, credits, exposures,
+                PARTITION_LOCK_BASE, partitionWidth, limit, limit));
+    }
+
+    /**
+     * Resta un crédito dado de baja de la exposición del cliente, en la
+     * transacción actual.
+     */
+    public void release(Long customerId, BigDecimal amount) {
+        jdbcTemplate.update(RELEASE, lockKey(customerId / partitionWidth), amount, customerId);
+    }
+
+    public BigDecimal limit() {
+        return limit;
+    }
+
+    long partitionWidth() {
+        return partitionWidth;
+    }
+
+    /**
+     * Clave del lock consultivo de una partición de clientes.
+     */
+    long lockKey(long partition) {
+        return PARTITION_LOCK_BASE + partition;
+    }
+}
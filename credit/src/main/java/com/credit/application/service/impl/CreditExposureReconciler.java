@@ -0,0 +1,152 @@
+package com.credit.application.service.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recalcula desde cero la exposición por cliente a partir de los créditos
+ * activos.
+ *
+ * Los clientes se dividen en particiones de {@code partitionWidth} IDs que se
+ * concilian en paralelo, cada una en su propia transacción. Una partición toma
+ * su lock consultivo en modo exclusivo: las altas y bajas de sus clientes, que
+ * lo toman en modo compartido, esperan a que termine y aplican su delta sobre
+ * el valor corregido. Solo se escriben las filas que difieren.
+ *
+ * Un lock consultivo global asegura una sola conciliación a la vez entre
+ * instancias. Es de sesión y no de transacción, para no dejar abierta una
+ * transacción durante toda la corrida; ocupa una conexión ociosa del pool
+ * mientras trabajan las particiones. Los hilos de trabajo se acotan a un
+ * cuarto del pool, así la conciliación deja libres la mayoría de las
+ * conexiones para el tráfico normal.
+ */
+@Component
+public class CreditExposureReconciler {
+
+    private static final long ADVISORY_LOCK_KEY = 0x4558_504FL;
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?)";
+
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?)";
+
+    private static final String PARTITIONS = "SELECT customer_id / ? FROM credits WHERE is_active = true "
+            + "UNION SELECT customer_id / ? FROM customer_credit_exposure";
+
+    private static final String LOCK_PARTITION = "SELECT 1 FROM pg_advisory_xact_lock(?)";
+
+    private static final String RECOMPUTE = "INSERT INTO customer_credit_exposure AS e (customer_id, credits, "
+            + "exposure, updated_at) SELECT customer_id, COUNT(*), SUM(amount), now() FROM credits "
+            + "WHERE is_active = true AND customer_id >= ? AND customer_id < ? GROUP BY customer_id "
+            + "ON CONFLICT (customer_id) DO UPDATE SET credits = excluded.credits, exposure = excluded.exposure, "
+            + "updated_at = now() WHERE (e.credits, e.exposure) IS DISTINCT FROM (excluded.credits, excluded.exposure)";
+
+    private static final String CLEAR_WITHOUT_CREDITS = "UPDATE customer_credit_exposure e SET credits = 0, "
+            + "exposure = 0, updated_at = now() WHERE e.customer_id >= ? AND e.customer_id < ? "
+            + "AND (e.credits <> 0 OR e.exposure <> 0) AND NOT EXISTS (SELECT 1 FROM credits c "
+            + "WHERE c.customer_id = e.customer_id AND c.is_active = true)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CreditExposure exposure;
+    private final ExecutorService workers;
+
+    public CreditExposureReconciler(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            CreditExposure exposure,
+            @Value("${credit.exposure.reconcile-threads:2}") int threads,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.exposure = exposure;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, poolSize / 4)),
+                Thread.ofPlatform().name("exposure-reconciler-", 0).factory());
+    }
+
+    /**
+     * Concilia todas las particiones con clientes. Si otra instancia está
+     * conciliando, la corrida no hace nada.
+     */
+    @Scheduled(initialDelayString = "${credit.exposure.reconcile-ms:3600000}",
+            fixedDelayString = "${credit.exposure.reconcile-ms:3600000}")
+    public void reconcile() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, TRY_LOCK)) {
+                return null;
+            }
+            try {
+                reconcileAll();
+            } finally {
+                advisoryLock(connection, UNLOCK);
+            }
+            return null;
+        });
+    }
+
+    private void reconcileAll() {
+        long width = exposure.partitionWidth();
+        List<Long> partitions = jdbcTemplate.queryForList(PARTITIONS, Long.class, width, width);
+        List<Future<?>> pending = new ArrayList<>(partitions.size());
+        for (Long partition : partitions) {
+            pending.add(workers.submit(() -> reconcilePartition(partition, width)));
+        }
+        await(pending);
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void reconcilePartition(long partition, long width) {
+        long from = partition * width;
+        long to = from + width;
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject(LOCK_PARTITION, Integer.class, exposure.lockKey(partition));
+            jdbcTemplate.update(RECOMPUTE, from, to);
+            jdbcTemplate.update(CLEAR_WITHOUT_CREDITS, from, to);
+        });
+    }
+
+    private static void await(List<Future<?>> pending) {
+        try {
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pending.forEach(future -> future.cancel(true));
+        } catch (ExecutionException ex) {
+            // las particiones ya confirmadas quedan corregidas; el resto se reintenta en la próxima corrida
+            pending.forEach(future -> future.cancel(true));
+            throw ex.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -1,55 +1,73 @@
 package com.credit.application.service.impl;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpStatusCode;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestClientException;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.commons.dto.response.GetAccount;
+import com.commons.dto.response.CursorPage;
+import com.commons.pagination.KeysetCursor;
 import com.credit.application.client.AccountRestClient;
 import com.credit.application.dto.request.SaveCredit;
 import com.credit.application.dto.response.GetCredit;
-import com.credit.application.exceptions.AccountDepositException;
+import com.credit.application.exceptions.AccountNotFoundException;
 import com.credit.application.exceptions.AccountServiceException;
+import com.credit.application.exceptions.CreditLimitExceededException;
 import com.credit.application.exceptions.CreditNotFoundException;
 import com.credit.application.exceptions.CreditPersistenceException;
 import com.credit.application.mapper.CreditMapper;
 import com.credit.application.service.CreditService;
 import com.credit.domain.persistence.Credit;
+import com.credit.domain.repository.CreditDisbursementRepository;
 import com.credit.domain.repository.CreditRepository;
 
+import feign.FeignException;
+
 /**
  * Implementación del servicio de créditos.
  * 
  * Esta clase gestiona operaciones como registro, listado, búsqueda y
  * eliminación lógica de créditos.
- * También se comunica con el servicio externo de cuentas para realizar
- * depósitos.
+ * El depósito de cada crédito en su cuenta se registra en un outbox y lo
+ * entrega {@link DisbursementRelay}.
  */
 @Service
 @Transactional
 public class CreditServiceImpl implements CreditService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final CreditRepository creditRepository;
+    private final CreditDisbursementRepository disbursementRepository;
+    private final CreditExposure creditExposure;
     private final AccountRestClient accountRestClient;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructor que inyecta dependencias.
      *
-     * @param creditRepository  Repositorio de créditos.
-     * @param accountRestClient Cliente REST para el servicio de cuentas.
+     * @param creditRepository       Repositorio de créditos.
+     * @param disbursementRepository Repositorio del outbox de desembolsos.
+     * @param creditExposure         Exposición por cliente.
+     * @param accountRestClient      Cliente REST para el servicio de cuentas.
+     * @param transactionManager     Gestor de transacciones para el alta.
      */
 
-    public CreditServiceImpl(CreditRepository creditRepository, AccountRestClient accountRestClient) {
+    public CreditServiceImpl(CreditRepository creditRepository,
+            CreditDisbursementRepository disbursementRepository, CreditExposure creditExposure,
+            AccountRestClient accountRestClient, PlatformTransactionManager transactionManager) {
         this.creditRepository = creditRepository;
+        this.disbursementRepository = disbursementRepository;
+        this.creditExposure = creditExposure;
         this.accountRestClient = accountRestClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -66,6 +84,34 @@ public class CreditServiceImpl implements CreditService {
                 .map(CreditMapper::toGetDto);
     }
 
+    /**
+     * Obtiene los créditos activos paginados por cursor. Se pide una fila de más
+     * para saber si existe una página siguiente sin ejecutar un COUNT.
+     *
+     * @param cursor Token devuelto por la página anterior; vacío para la primera.
+     * @param size   Tamaño de página, entre 1 y 100.
+     * @return Página de créditos con el cursor de la siguiente.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<GetCredit> findAll(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Credit> credits = after == null
+                ? creditRepository.findActiveFirst(pageSize + 1)
+                : creditRepository.findActiveAfter(after.sortKey(), after.id(), pageSize + 1);
+
+        String nextCursor = null;
+        if (credits.size() > pageSize) {
+            credits = credits.subList(0, pageSize);
+            Credit last = credits.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(credits.stream().map(CreditMapper::toGetDto).toList(), pageSize, nextCursor);
+    }
+
     /**
      * Busca un crédito por su ID.
      *
@@ -81,68 +127,93 @@ public class CreditServiceImpl implements CreditService {
     }
 
     /**
-     * Registra un nuevo crédito, realiza un depósito en la cuenta correspondiente y
-     * guarda el crédito en la base de datos.
+     * Busca un crédito por su ID sin importar su estado: primero en la tabla
+     * principal y, si ya fue archivado, en la tabla de archivo.
+     *
+     * @param id Identificador del crédito.
+     * @return Crédito encontrado en formato DTO.
+     * @throws CreditNotFoundException si no se encuentra el crédito.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public GetCredit findByIdIncludingArchived(Long id) {
+        return CreditMapper.toGetDto(creditRepository.findById(id)
+                .or(() -> creditRepository.findArchivedById(id))
+                .orElseThrow(() -> new CreditNotFoundException(id)));
+    }
+
+    /**
+     * Registra un nuevo crédito y deja su desembolso en el outbox, en la misma
+     * transacción local. Antes se suma el monto a la exposición del cliente, que
+     * rechaza el alta si supera el límite. El depósito en la cuenta lo entrega
+     * después {@link DisbursementRelay}, por lo que el alta no espera al
+     * depósito.
+     *
+     * La existencia de la cuenta se consulta al servicio de cuentas y se rechaza
+     * el alta si la cuenta no existe. Si el servicio no está disponible, el
+     * crédito se registra igual para no atar las altas a su disponibilidad: si la
+     * cuenta no existiera, el relay deja el desembolso como {@code FALLIDO} y da
+     * de baja el crédito. La consulta se hace antes de abrir la transacción,
+     * para no retener una conexión de la base durante la llamada remota.
      *
      * @param saveCredit DTO con los datos del crédito a registrar.
      * @return Crédito registrado en formato DTO.
-     * @throws AccountDepositException    si el servicio de cuentas responde con
-     *                                    error al realizar el depósito.
-     * @throws AccountServiceException    si hay un problema de comunicación con el
-     *                                    servicio de cuentas.
-     * @throws CreditPersistenceException si ocurre un error al guardar el crédito.
+     * @throws AccountNotFoundException     si la cuenta del crédito no existe.
+     * @throws CreditLimitExceededException si el crédito supera el límite de
+     *                                      exposición del cliente.
+     * @throws CreditPersistenceException   si ocurre un error al guardar el
+     *                                      crédito.
      */
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public GetCredit registerCredit(SaveCredit saveCredit) {
+        if (!accountExists(saveCredit.accountNumber())) {
+            throw new AccountNotFoundException(saveCredit.accountNumber());
+        }
         try {
-
-            // Creación del depósito con manejo de null seguro
-            ResponseEntity<GetAccount> responseDepositInAccount = accountRestClient.despositInAccount(
-                    CreditMapper.toDeposito(saveCredit));
-
-            // Manejo de respuestas HTTP con Optional para evitar NPE
-            HttpStatusCode statusCode = responseDepositInAccount.getStatusCode();
-            if (!statusCode.is2xxSuccessful()) {
-                String errorDetails = Optional.ofNullable(responseDepositInAccount.getBody())
-                        .map(Object::toString)
-                        .orElse("Sin detalles del error");
-
-                throw new AccountDepositException(
-                        String.format("Error realizando depósito - Código: %d - Detalles: %s",
-                                statusCode.value(),
-                                errorDetails));
-            }
-
-            // Validación del cuerpo de respuesta con mensaje claro
-            GetAccount account = responseDepositInAccount.getBody();
-            if (account == null) {
-                throw new AccountServiceException("Respuesta inválida del servicio de cuentas: cuerpo vacío");
-            }
-
-            // Persistencia con verificación de resultado
-            Credit creditToSave = CreditMapper.toEntityFromDto(saveCredit);
-            Credit savedCredit = creditRepository.save(creditToSave);
-            return CreditMapper.toGetDto(savedCredit);
-
+            return transactionTemplate.execute(status -> {
+                if (!creditExposure.reserve(saveCredit.clientId(), saveCredit.amount())) {
+                    throw new CreditLimitExceededException(saveCredit.clientId(), creditExposure.limit());
+                }
+                Credit savedCredit = creditRepository.save(CreditMapper.toEntityFromDto(saveCredit));
+                // con IDs por secuencia los INSERT se difieren al flush: se fuerza acá para que
+                // una violación de unicidad llegue al catch
+                disbursementRepository.saveAndFlush(CreditMapper.toDisbursement(savedCredit));
+                return CreditMapper.toGetDto(savedCredit);
+            });
         } catch (DataAccessException ex) {
             throw new CreditPersistenceException("Error crítico al guardar datos del crédito", ex);
-        } catch (RestClientException ex) {
-            throw new AccountServiceException("Error en servicio externo de cuentas", ex);
         }
     }
 
     /**
-     * Realiza una eliminación lógica del crédito (soft delete).
+     * Realiza una eliminación lógica del crédito (soft delete) y resta su monto
+     * de la exposición del cliente.
      *
      * @param id Identificador del crédito a eliminar.
      * @throws RuntimeException si no se encuentra el crédito.
      */
     @Override
     public void delete(Long id) {
-        Credit deleteCredit = findByIdEntity(id);
+        // el bloqueo evita que dos bajas simultáneas resten dos veces la exposición
+        Credit deleteCredit = creditRepository.findActiveByIdForUpdate(id)
+                .orElseThrow(() -> new CreditNotFoundException(id));
         deleteCredit.setDeletedAt(LocalDateTime.now());
         deleteCredit.setActive(false);
+        creditExposure.release(deleteCredit.getClientId(), deleteCredit.getAmount());
+    }
+
+    /**
+     * Consulta la cuenta al servicio de cuentas. Si el servicio no está
+     * disponible o responde con error se la da por existente.
+     */
+    private boolean accountExists(String accountNumber) {
+        try {
+            return !Boolean.FALSE.equals(accountRestClient.existsByNumber(accountNumber).getBody());
+        } catch (AccountServiceException | FeignException ex) {
+            return true;
+        }
     }
 
     /**
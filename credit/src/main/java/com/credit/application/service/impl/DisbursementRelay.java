@@ -0,0 +1,267 @@
+package com.credit.application.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.commons.dto.request.BulkDeposit;
+import com.commons.dto.response.BulkDepositResult;
+import com.credit.application.client.AccountRestClient;
+import com.credit.application.exceptions.AccountServiceException;
+import com.credit.domain.persistence.CreditDisbursement;
+import com.credit.domain.repository.CreditDisbursementRepository;
+import com.credit.domain.repository.CreditRepository;
+import com.credit.domain.util.DisbursementStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Entrega al servicio de cuentas los desembolsos del outbox.
+ *
+ * Cada corrida toma un lote de desembolsos pendientes en orden de alta y lo
+ * envía en una sola llamada a la carga masiva de depósitos, que informa el
+ * resultado de cada uno. Si una entrega falla, el desembolso se reprograma con
+ * espera exponencial y los siguientes de la misma cuenta no se entregan hasta
+ * que ese salga, de modo que los depósitos de una cuenta llegan en orden; el
+ * servicio de cuentas aplica o rechaza juntos todos los depósitos de una misma
+ * cuenta dentro de un lote.
+ *
+ * Un error que el servicio de cuentas informa como permanente (por ejemplo,
+ * cuenta inexistente) no se reintenta: el desembolso queda {@code FALLIDO} y el
+ * crédito se compensa, dándolo de baja y restando su monto de la exposición
+ * del cliente, porque el depósito seguro no se aplicó. Agotar los reintentos
+ * de errores transitorios también deja el desembolso {@code FALLIDO}, pero sin
+ * compensar: el depósito pudo haberse aplicado sin que llegara la respuesta.
+ * Esos casos se resuelven a mano; la métrica
+ * {@code credit.disbursements.failed} informa cuántos desembolsos fallidos hay.
+ *
+ * La clave de idempotencia de cada depósito se deriva del crédito, así que
+ * volver a entregar un desembolso ya aplicado (por ejemplo, si la corrida se
+ * interrumpe antes del commit) no lo duplica: el servicio lo informa como
+ * {@code REPETIDO}.
+ *
+ * La llamada remota se hace fuera de toda transacción. Una transacción corta
+ * reclama el lote bajo un lock consultivo: suma el intento y corre
+ * {@code next_attempt_at} por {@code leaseMs}, con lo que las demás corridas e
+ * instancias no lo vuelven a tomar ni entregan los siguientes de esas cuentas.
+ * Después de la llamada, una segunda transacción corta registra el resultado.
+ * Si la instancia se cae con el lote reclamado, al vencer la concesión otro
+ * relay lo vuelve a entregar y la clave de idempotencia evita el duplicado.
+ */
+@Component
+public class DisbursementRelay implements MeterBinder {
+
+    private static final long RELAY_LOCK_KEY = 0x4352454449545245L;
+    private static final long MAX_BACKOFF_MS = Duration.ofMinutes(5).toMillis();
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String ERROR = "ERROR";
+
+    private final CreditDisbursementRepository disbursementRepository;
+    private final CreditRepository creditRepository;
+    private final CreditExposure creditExposure;
+    private final AccountRestClient accountRestClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final Duration lease;
+    private final ObjectWriter depositWriter;
+    private final ObjectReader resultReader;
+
+    public DisbursementRelay(CreditDisbursementRepository disbursementRepository,
+            CreditRepository creditRepository, CreditExposure creditExposure,
+            AccountRestClient accountRestClient, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${credit.outbox.batch-size:100}") int batchSize,
+            @Value("${credit.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${credit.outbox.backoff-ms:1000}") long backoffMs,
+            @Value("${credit.outbox.lease-ms:60000}") long leaseMs) {
+        this.disbursementRepository = disbursementRepository;
+        this.creditRepository = creditRepository;
+        this.creditExposure = creditExposure;
+        this.accountRestClient = accountRestClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.depositWriter = objectMapper.writerFor(BulkDeposit.class);
+        this.resultReader = objectMapper.readerFor(BulkDepositResult.class);
+    }
+
+    /**
+     * Entrega un lote de desembolsos pendientes con una sola llamada a la carga
+     * masiva de depósitos: reclama el lote, llama al servicio de cuentas sin
+     * transacción abierta y registra el resultado. Si otra instancia está
+     * reclamando, la corrida no hace nada.
+     */
+    @Scheduled(fixedDelayString = "${credit.outbox.relay-ms:1000}")
+    public void relay() {
+        List<CreditDisbursement> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        String body = toNdjson(batch);
+        Map<Long, BulkDepositResult> results;
+        try {
+            results = parseResults(accountRestClient.depositBulk(body));
+        } catch (RuntimeException ex) {
+            transactionTemplate.executeWithoutResult(status -> record(batch, null, ex.getMessage()));
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> record(batch, results, null));
+    }
+
+    /**
+     * Toma un lote entregable, suma el intento y lo concede por {@code lease}.
+     */
+    private List<CreditDisbursement> claim() {
+        if (!disbursementRepository.tryAdvisoryLock(RELAY_LOCK_KEY)) {
+            return List.of();
+        }
+        List<CreditDisbursement> batch = disbursementRepository.lockDeliverable(batchSize);
+        LocalDateTime leasedUntil = LocalDateTime.now().plus(lease);
+        for (CreditDisbursement disbursement : batch) {
+            disbursement.setAttempts(disbursement.getAttempts() + 1);
+            disbursement.setNextAttemptAt(leasedUntil);
+        }
+        return batch;
+    }
+
+    /**
+     * Registra el resultado de la entrega de un lote reclamado. Con
+     * {@code results} nulo, la llamada entera falló con {@code error}. Se
+     * ignoran los desembolsos que ya no están pendientes, porque otro relay los
+     * entregó tras vencer la concesión.
+     */
+    private void record(List<CreditDisbursement> claimed, Map<Long, BulkDepositResult> results, String error) {
+        Map<Long, CreditDisbursement> current = disbursementRepository
+                .findAllById(claimed.stream().map(CreditDisbursement::getId).toList()).stream()
+                .collect(Collectors.toMap(CreditDisbursement::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < claimed.size(); i++) {
+            CreditDisbursement disbursement = current.get(claimed.get(i).getId());
+            if (disbursement == null || disbursement.getStatus() != DisbursementStatus.PENDIENTE) {
+                continue;
+            }
+            if (results == null) {
+                retry(disbursement, error);
+                continue;
+            }
+            BulkDepositResult result = results.get(i + 1L);
+            if (result == null) {
+                retry(disbursement, "Sin resultado del servicio de cuentas");
+            } else if (ERROR.equals(result.status()) && result.permanent()) {
+                fail(disbursement, DisbursementStatus.FALLIDO, result.message());
+                compensate(disbursement);
+            } else if (ERROR.equals(result.status())) {
+                retry(disbursement, result.message());
+            } else {
+                // OK o REPETIDO: el depósito está aplicado
+                disbursement.setStatus(DisbursementStatus.ENTREGADO);
+                disbursement.setDeliveredAt(now);
+                disbursement.setLastError(null);
+            }
+        }
+    }
+
+    /**
+     * Da de baja el crédito de un desembolso rechazado en forma permanente y
+     * resta su monto de la exposición del cliente, como una baja lógica.
+     */
+    private void compensate(CreditDisbursement disbursement) {
+        creditRepository.findActiveByIdForUpdate(disbursement.getCreditId()).ifPresent(credit -> {
+            credit.setActive(false);
+            credit.setDeletedAt(LocalDateTime.now());
+            creditExposure.release(credit.getClientId(), credit.getAmount());
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("credit.disbursements.failed", disbursementRepository,
+                repository -> repository.countByStatus(DisbursementStatus.FALLIDO))
+                .description("Desembolsos que no se entregaron y esperan resolución")
+                .register(registry);
+    }
+
+    /**
+     * Arma el cuerpo NDJSON del lote: la línea {@code i + 1} es el desembolso
+     * {@code i}.
+     */
+    private String toNdjson(List<CreditDisbursement> batch) {
+        StringBuilder body = new StringBuilder(batch.size() * 96);
+        try {
+            for (CreditDisbursement disbursement : batch) {
+                body.append(depositWriter.writeValueAsString(new BulkDeposit(disbursement.getAccountNumber(),
+                        disbursement.getAmount(), "credit-" + disbursement.getCreditId())));
+                body.append('\n');
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return body.toString();
+    }
+
+    private Map<Long, BulkDepositResult> parseResults(String body) {
+        Map<Long, BulkDepositResult> results = new HashMap<>();
+        if (body == null) {
+            return results;
+        }
+        try {
+            for (String line : body.split("\n")) {
+                if (!line.isBlank()) {
+                    BulkDepositResult result = resultReader.readValue(line);
+                    results.put(result.line(), result);
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            throw new AccountServiceException("Respuesta inválida del servicio de cuentas", ex);
+        }
+        return results;
+    }
+
+    /**
+     * Reprograma un desembolso con espera exponencial, o lo deja como
+     * {@code FALLIDO} si agotó los reintentos.
+     */
+    private void retry(CreditDisbursement disbursement, String error) {
+        fail(disbursement, disbursement.getAttempts() >= maxAttempts
+                ? DisbursementStatus.FALLIDO
+                : DisbursementStatus.PENDIENTE, error);
+    }
+
+    private void fail(CreditDisbursement disbursement, DisbursementStatus status, String error) {
+        disbursement.setStatus(status);
+        disbursement.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff(disbursement.getAttempts()))));
+        String message = String.valueOf(error);
+        disbursement.setLastError(message.length() > MAX_ERROR_LENGTH
+                ? message.substring(0, MAX_ERROR_LENGTH)
+                : message);
+    }
+
+    /**
+     * Espera exponencial desde {@code backoffMs}, acotada a cinco minutos.
+     */
+    private long backoff(int attempts) {
+        int exponent = Math.min(attempts - 1, 30);
+        return Math.min(backoffMs << exponent, MAX_BACKOFF_MS);
+    }
+}
@@ -0,0 +1,81 @@
+package com.credit.application.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.credit.application.exceptions.CreditNotFoundException;
+import com.credit.application.service.ScheduleService;
+import com.credit.domain.persistence.Credit;
+import com.credit.domain.repository.CreditRepository;
+import com.credit.domain.util.AmortizationSystem;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Implementación de la consulta del cuadro de amortización.
+ *
+ * El cuadro se obtiene de {@link AmortizationEngine} y se escribe directamente
+ * con un {@link JsonGenerator}, cuota por cuota, sin armar una lista de filas:
+ * una hipoteca a 360 meses se envía en streaming igual que un crédito a 12.
+ */
+@Service
+public class ScheduleServiceImpl implements ScheduleService {
+
+    private final CreditRepository creditRepository;
+    private final AmortizationEngine amortizationEngine;
+    private final ObjectMapper objectMapper;
+
+    public ScheduleServiceImpl(CreditRepository creditRepository, AmortizationEngine amortizationEngine,
+            ObjectMapper objectMapper) {
+        this.creditRepository = creditRepository;
+        this.amortizationEngine = amortizationEngine;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Busca el crédito, obtiene su cuadro y lo escribe con el resumen primero y
+     * las cuotas después.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void writeSchedule(Long id, AmortizationSystem system, OutputStream output) throws IOException {
+        Credit credit = creditRepository.findActiveById(id)
+                .orElseThrow(() -> new CreditNotFoundException(id));
+        AmortizationEngine.Schedule schedule = amortizationEngine.schedule(credit.getAmount(),
+                credit.getTermMonths(), credit.getInterestRate(), system);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeNumberField("credit_id", credit.getId());
+            generator.writeStringField("system", system.name());
+            generator.writeNumberField("amount", credit.getAmount());
+            generator.writeNumberField("term_months", credit.getTermMonths());
+            generator.writeNumberField("interest_rate", credit.getInterestRate());
+            long totalInterest = schedule.totalInterest();
+            writeCents(generator, "total_interest", totalInterest);
+            writeCents(generator, "total_payment", totalInterest + schedule.totalPrincipal());
+
+            generator.writeArrayFieldStart("installments");
+            for (int i = 0; i < schedule.size(); i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("number", i + 1);
+                writeCents(generator, "payment", schedule.payment(i));
+                writeCents(generator, "principal", schedule.principal(i));
+                writeCents(generator, "interest", schedule.interest(i));
+                writeCents(generator, "balance", schedule.balance(i));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeCents(JsonGenerator generator, String field, long cents) throws IOException {
+        generator.writeNumberField(field, BigDecimal.valueOf(cents, 2));
+    }
+}
@@ -0,0 +1,145 @@
+package com.credit.domain.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.credit.domain.util.DisbursementStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila del outbox de desembolsos: el depósito que hay que entregar al servicio
+ * de cuentas por un crédito registrado.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "credit_disbursements")
+public class CreditDisbursement {
+    /**
+     * Identificador único del desembolso; define el orden de entrega.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * ID del crédito desembolsado.
+     */
+    @Column(name = "credit_id", nullable = false)
+    private Long creditId;
+    /**
+     * Número de cuenta donde se deposita el crédito.
+     */
+    @Column(name = "account_number", nullable = false, length = 30)
+    private String accountNumber;
+    /**
+     * Monto a depositar.
+     */
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    /**
+     * Estado de la entrega.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private DisbursementStatus status;
+    /**
+     * Intentos de entrega realizados.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    /**
+     * Fecha a partir de la cual se puede volver a intentar la entrega.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    /**
+     * Último error de entrega, si lo hubo.
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    /**
+     * Fecha de alta del desembolso.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    /**
+     * Fecha en que el servicio de cuentas confirmó el depósito.
+     */
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCreditId() {
+        return creditId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public DisbursementStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(DisbursementStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public void setDeliveredAt(LocalDateTime deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+}
@@ -0,0 +1,36 @@
+package com.credit.domain.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.credit.domain.persistence.CreditDisbursement;
+import com.credit.domain.util.DisbursementStatus;
+
+@Repository
+public interface CreditDisbursementRepository extends JpaRepository<CreditDisbursement, Long> {
+
+    /**
+     * Desembolsos pendientes listos para entregar, en orden de alta. Se excluyen
+     * los de una cuenta que tiene un desembolso anterior esperando un reintento o
+     * reclamado por un relay, para no entregar los depósitos de una cuenta fuera
+     * de orden.
+     */
+    @Query(value = "SELECT * FROM credit_disbursements d WHERE d.status = 'PENDIENTE' "
+            + "AND d.next_attempt_at <= LOCALTIMESTAMP AND NOT EXISTS (SELECT 1 FROM credit_disbursements p "
+            + "WHERE p.status = 'PENDIENTE' AND p.account_number = d.account_number AND p.id < d.id "
+            + "AND p.next_attempt_at > LOCALTIMESTAMP) ORDER BY d.id LIMIT ?1 FOR UPDATE", nativeQuery = true)
+    List<CreditDisbursement> lockDeliverable(int limit);
+
+    /**
+     * Intenta tomar un lock consultivo hasta el fin de la transacción.
+     *
+     * @return {@code true} si se obtuvo el lock
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(?1)", nativeQuery = true)
+    boolean tryAdvisoryLock(long key);
+
+    long countByStatus(DisbursementStatus status);
+}
@@ -1,20 +1,55 @@
 package com.credit.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.credit.domain.persistence.Credit;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface CreditRepository extends JpaRepository<Credit, Long> {
     @Query("SELECT c FROM Credit c WHERE c.isActive = true")
     Page<Credit> findActiveAll(Pageable pageable);
 
+    /**
+     * Primera página de créditos activos en modo cursor, ordenados por fecha de
+     * creación e ID.
+     */
+    @Query(value = "SELECT * FROM credits c WHERE c.is_active = true "
+            + "ORDER BY c.created_at, c.id LIMIT ?1", nativeQuery = true)
+    List<Credit> findActiveFirst(int limit);
+
+    /**
+     * Página de créditos activos posteriores a la clave (created_at, id) dada,
+     * resuelta con una búsqueda sobre el índice.
+     */
+    @Query(value = "SELECT * FROM credits c WHERE c.is_active = true AND (c.created_at, c.id) > (?1, ?2) "
+            + "ORDER BY c.created_at, c.id LIMIT ?3", nativeQuery = true)
+    List<Credit> findActiveAfter(LocalDateTime createdAt, long id, int limit);
+
     @Query("SELECT c FROM Credit c WHERE c.isActive = true AND c.id = ?1")
     Optional<Credit> findActiveById(Long id);
+
+    /**
+     * Busca un crédito activo por su ID y bloquea la fila (SELECT ... FOR UPDATE)
+     * hasta el fin de la transacción.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Credit c WHERE c.isActive = true AND c.id = ?1")
+    Optional<Credit> findActiveByIdForUpdate(Long id);
+
+    /**
+     * Busca un crédito en la tabla de archivo.
+     */
+    @Query(value = "SELECT * FROM credits_archive c WHERE c.id = ?1", nativeQuery = true)
+    Optional<Credit> findArchivedById(Long id);
 }
@@ -0,0 +1,15 @@
+package com.credit.domain.util;
+
+/**
+ * Enum que representa el sistema de amortización de un crédito.
+ * 
+ * - FRANCES: Cuota constante; la porción de capital crece con cada cuota.
+ * - ALEMAN: Amortización de capital constante; la cuota decrece.
+ * - AMERICANO: Solo intereses en cada cuota y el capital completo al
+ * vencimiento (bullet).
+ */
+public enum AmortizationSystem {
+    FRANCES,
+    ALEMAN,
+    AMERICANO
+}
@@ -0,0 +1,15 @@
+package com.credit.domain.util;
+
+/**
+ * Enum que representa el estado de entrega del desembolso de un crédito.
+ * 
+ * - PENDIENTE: El depósito todavía no se entregó al servicio de cuentas.
+ * - ENTREGADO: El servicio de cuentas confirmó el depósito.
+ * - FALLIDO: El depósito fue rechazado o se agotaron los reintentos; requiere
+ * revisión manual.
+ */
+public enum DisbursementStatus {
+    PENDIENTE,
+    ENTREGADO,
+    FALLIDO
+}
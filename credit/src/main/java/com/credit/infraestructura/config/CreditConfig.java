@@ -1,11 +1,35 @@
 package com.credit.infraestructura.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.commons.archive.SoftDeleteArchiver;
+
 import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
 
 @Configuration
+@EnableScheduling
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
 public class CreditConfig {
 
+    /**
+     * Archiva en {@code credits_archive} las filas dadas de baja hace más que
+     * la retención configurada.
+     */
+    @Bean
+    public SoftDeleteArchiver creditArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${credit.archive.retention-days:30}") long retentionDays,
+            @Value("${credit.archive.batch-size:500}") int batchSize,
+            @Value("${credit.archive.pause-ms:200}") long pauseMs,
+            @Value("${credit.archive.max-batches:100}") int maxBatches,
+            @Value("${credit.archive.interval-ms:600000}") long intervalMs) {
+        return new SoftDeleteArchiver(jdbcTemplate, transactionManager, "credits",
+                "id, amount, term_months, interest_rate, credit_type, account_number, customer_id, is_active, created_at, updated_at, deleted_at",
+                new SoftDeleteArchiver.Settings(retentionDays, batchSize, pauseMs, maxBatches, intervalMs));
+    }
 }
@@ -1,5 +1,6 @@
 package com.credit.infraestructura.controller;
 
+import java.io.IOException;
 import java.net.URI;
 
 import org.springframework.data.domain.Page;
@@ -10,13 +11,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.commons.dto.response.CursorPage;
 import com.credit.application.dto.request.SaveCredit;
 import com.credit.application.dto.response.GetCredit;
+import com.credit.application.service.BulkCreditService;
 import com.credit.application.service.CreditService;
+import com.credit.application.service.ScheduleService;
+import com.credit.domain.util.AmortizationSystem;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Controlador REST para gestionar operaciones relacionadas con créditos.
@@ -26,10 +33,17 @@ import jakarta.servlet.http.HttpServletRequest;
 @RestController
 public class CreditController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final CreditService creditService;
+    private final ScheduleService scheduleService;
+    private final BulkCreditService bulkCreditService;
 
-    public CreditController(CreditService creditService) {
+    public CreditController(CreditService creditService, ScheduleService scheduleService,
+            BulkCreditService bulkCreditService) {
         this.creditService = creditService;
+        this.scheduleService = scheduleService;
+        this.bulkCreditService = bulkCreditService;
     }
 
     /**
@@ -44,6 +58,21 @@ public class CreditController {
         return ResponseEntity.ok(creditService.findAll(pageable));
     }
 
+    /**
+     * Obtiene los créditos paginados por cursor. Se activa al enviar el parámetro
+     * {@code cursor} (vacío para la primera página).
+     *
+     * @param cursor token opaco devuelto por la página anterior.
+     * @param size   tamaño de página.
+     * @return una página de créditos con el cursor de la siguiente.
+     */
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<GetCredit>> findAll(@RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(creditService.findAll(cursor, size));
+    }
+
     /**
      * Busca un crédito por su ID.
      *
@@ -56,6 +85,36 @@ public class CreditController {
         return ResponseEntity.ok(creditService.findById(id));
     }
 
+    /**
+     * Busca un crédito por su ID incluyendo los dados de baja y los archivados.
+     *
+     * @param id identificador del crédito.
+     * @return DTO con los datos del crédito.
+     */
+    @GetMapping(value = "/{id}", params = "include_archived=true")
+    public ResponseEntity<GetCredit> findByIdIncludingArchived(@PathVariable Long id) {
+        return ResponseEntity.ok(creditService.findByIdIncludingArchived(id));
+    }
+
+    /**
+     * Obtiene el cuadro de amortización de un crédito. Las cuotas se escriben en
+     * la respuesta a medida que se generan.
+     *
+     * @param id       identificador del crédito.
+     * @param system   sistema de amortización: {@code FRANCES}, {@code ALEMAN} o
+     *                 {@code AMERICANO}.
+     * @param response respuesta donde se escribe el cuadro.
+     * @throws IOException si falla la escritura del flujo.
+     */
+    @GetMapping("/{id}/schedule")
+    public void schedule(@PathVariable Long id,
+            @RequestParam(defaultValue = "FRANCES") AmortizationSystem system,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        scheduleService.writeSchedule(id, system, response.getOutputStream());
+    }
+
     /**
      * Registra un nuevo crédito y realiza un depósito en la cuenta correspondiente.
      *
@@ -70,6 +129,23 @@ public class CreditController {
         return ResponseEntity.created(location).body(savedCredit);
     }
 
+    /**
+     * Registra créditos en forma masiva. El cuerpo es un flujo NDJSON con un
+     * {@link SaveCredit} por línea y la respuesta devuelve, también como NDJSON y
+     * a medida que se procesan, el resultado de cada línea. Los depósitos se
+     * entregan después desde el outbox de desembolsos.
+     *
+     * @param request  pedido con el flujo de créditos.
+     * @param response respuesta donde se escriben los resultados.
+     * @throws IOException si falla la lectura o escritura del flujo.
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON, produces = NDJSON)
+    public void registerBulk(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        bulkCreditService.registerAll(request.getInputStream(), response.getOutputStream());
+    }
+
     /**
      * Elimina lógicamente un crédito.
      *
@@ -0,0 +1,18 @@
+-- Esquema base del servicio de créditos, equivalente al que generaba Hibernate
+-- con ddl-auto: update. Las bases existentes lo marcan como aplicado al
+-- migrar por primera vez (baseline-on-migrate).
+
+CREATE TABLE credits (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount          numeric(19, 2) NOT NULL,
+    term_months     integer        NOT NULL,
+    interest_rate   numeric(5, 4)  NOT NULL,
+    credit_type     varchar(20)    NOT NULL,
+    account_number  varchar(30)    NOT NULL,
+    customer_id     bigint         NOT NULL,
+    is_active       boolean        NOT NULL,
+    created_at      timestamp(6)   NOT NULL,
+    updated_at      timestamp(6),
+    deleted_at      timestamp(6),
+    CONSTRAINT uk_credits_account_number UNIQUE (account_number)
+);
@@ -0,0 +1,9 @@
+-- Índice parcial sobre los créditos activos. Reemplaza al que creaba
+-- Hibernate desde la anotación @Index.
+
+DROP INDEX IF EXISTS idx_credits_created_at_id;
+
+-- Listado por cursor y COUNT de findActiveAll (index-only sobre el parcial).
+CREATE INDEX idx_credits_active_created_at_id
+    ON credits (created_at, id) WHERE is_active = true;
+
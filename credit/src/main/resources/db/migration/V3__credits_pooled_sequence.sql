@@ -0,0 +1,12 @@
+-- Secuencia de incremento 50 para que Hibernate reserve 50 IDs por nextval y
+-- agrupe los INSERT en batches JDBC; arranca por encima de MAX(id).
+
+CREATE SEQUENCE credits_seq AS bigint INCREMENT BY 50 MINVALUE 1;
+
+LOCK TABLE credits IN EXCLUSIVE MODE;
+
+SELECT setval('credits_seq', COALESCE((SELECT MAX(id) FROM credits), 0) + 50);
+
+ALTER TABLE credits ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE credits ALTER COLUMN id SET DEFAULT nextval('credits_seq');
+ALTER SEQUENCE credits_seq OWNED BY credits.id;
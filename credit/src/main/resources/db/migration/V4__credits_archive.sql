@@ -0,0 +1,15 @@
+-- Archivo de créditos dados de baja. El archivador mueve las filas con baja
+-- lógica más vieja que el período de retención desde credits a credits_archive,
+-- de modo que la tabla principal y sus índices solo contienen datos vivos.
+-- Las columnas son las de credits más la fecha de archivo; un cambio de columnas
+-- en credits debe replicarse aquí y en el archivador.
+
+CREATE TABLE credits_archive (LIKE credits);
+
+ALTER TABLE credits_archive
+    ADD COLUMN archived_at timestamp(6) NOT NULL DEFAULT now(),
+    ADD PRIMARY KEY (id);
+
+-- Filas pendientes de archivar: solo las dadas de baja.
+CREATE INDEX idx_credits_inactive_deleted_at
+    ON credits (deleted_at) WHERE is_active = false;
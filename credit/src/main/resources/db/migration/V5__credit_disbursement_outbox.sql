@@ -0,0 +1,27 @@
+-- Outbox de desembolsos de créditos. El alta del crédito y su fila de
+-- desembolso se confirman en la misma transacción local; un relay entrega
+-- después el depósito al servicio de cuentas, con reintentos y en orden por
+-- cuenta.
+
+CREATE TABLE credit_disbursements (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    credit_id        bigint         NOT NULL,
+    account_number   varchar(30)    NOT NULL,
+    amount           numeric(19, 2) NOT NULL,
+    status           varchar(20)    NOT NULL,
+    attempts         integer        NOT NULL,
+    next_attempt_at  timestamp(6)   NOT NULL,
+    last_error       varchar(500),
+    created_at       timestamp(6)   NOT NULL,
+    delivered_at     timestamp(6)
+);
+
+-- Cola del relay: solo los desembolsos pendientes, en orden de alta.
+CREATE INDEX idx_credit_disbursements_pending
+    ON credit_disbursements (id) INCLUDE (account_number, next_attempt_at)
+    WHERE status = 'PENDIENTE';
+
+-- Orden por cuenta: desembolsos pendientes anteriores de la misma cuenta.
+CREATE INDEX idx_credit_disbursements_pending_account
+    ON credit_disbursements (account_number, id)
+    WHERE status = 'PENDIENTE';
@@ -0,0 +1,22 @@
+-- Exposición por cliente: cantidad y suma de los montos de sus créditos
+-- activos. Se mantiene en forma incremental al registrar y dar de baja
+-- créditos, de modo que el control de límite lee una sola fila en lugar de
+-- sumar todos los créditos del cliente. Fillfactor bajo para que las
+-- actualizaciones frecuentes sean HOT.
+
+CREATE TABLE customer_credit_exposure (
+    customer_id  bigint         PRIMARY KEY,
+    credits      integer        NOT NULL DEFAULT 0,
+    exposure     numeric(19, 2) NOT NULL DEFAULT 0,
+    updated_at   timestamp(6)   NOT NULL DEFAULT now()
+) WITH (fillfactor = 70);
+
+INSERT INTO customer_credit_exposure (customer_id, credits, exposure)
+SELECT customer_id, COUNT(*), SUM(amount)
+FROM credits
+WHERE is_active = true
+GROUP BY customer_id;
+
+-- Conciliación por rangos de cliente: index-only sobre los créditos activos.
+CREATE INDEX idx_credits_active_customer_id
+    ON credits (customer_id) INCLUDE (amount) WHERE is_active = true;
@@ -0,0 +1,12 @@
+-- Completa los índices parciales de V2 para los créditos activos.
+--
+-- Las búsquedas por ID (findActiveById) y por número de cuenta no llevan un
+-- índice parcial propio: la clave primaria y uk_credits_account_number ya son
+-- únicos sobre toda la tabla, y el filtro is_active se aplica sobre la única
+-- fila que devuelven. Un parcial sobre las mismas columnas solo sumaría costo
+-- de escritura.
+
+-- Conciliación de la exposición por cliente: COUNT y SUM(amount) de los
+-- créditos activos por rango de clientes, index-only sobre el parcial.
+CREATE INDEX idx_credits_active_customer_id
+    ON credits (customer_id) INCLUDE (amount) WHERE is_active = true;
@@ -0,0 +1,4 @@
+-- Conteo de desembolsos fallidos para la métrica credit.disbursements.failed:
+-- pocas filas, sin recorrer el historial de entregados.
+CREATE INDEX idx_credit_disbursements_failed
+    ON credit_disbursements (id) WHERE status = 'FALLIDO';
@@ -0,0 +1,100 @@
+package com.credit.application.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.credit.application.service.impl.AmortizationEngine.Schedule;
+import com.credit.domain.util.AmortizationSystem;
+
+class AmortizationEngineTest {
+
+	private final AmortizationEngine engine = new AmortizationEngine(10);
+
+	@Test
+	void francesHasConstantPaymentAndAbsorbsRoundingInTheLastInstallment() {
+		// 1.000,00 a 12 meses al 12 % nominal anual: 1 % mensual, cuota 88,85
+		Schedule schedule = engine.schedule(new BigDecimal("1000.00"), 12, new BigDecimal("0.1200"),
+				AmortizationSystem.FRANCES);
+
+		assertThat(schedule.size()).isEqualTo(12);
+		assertThat(schedule.interest(0)).isEqualTo(1000);
+		assertThat(schedule.principal(0)).isEqualTo(7885);
+		assertThat(schedule.balance(0)).isEqualTo(92115);
+		assertThat(schedule.interest(1)).isEqualTo(921);
+		for (int i = 0; i < 11; i++) {
+			assertThat(schedule.payment(i)).isEqualTo(8885);
+		}
+		assertThat(schedule.payment(11)).isEqualTo(8884);
+		assertThat(schedule.balance(11)).isZero();
+		assertThat(schedule.totalPrincipal()).isEqualTo(100000);
+		assertThat(schedule.totalInterest()).isEqualTo(6619);
+	}
+
+	@Test
+	void alemanHasConstantPrincipalAndDecreasingInterest() {
+		Schedule schedule = engine.schedule(new BigDecimal("1200.00"), 12, new BigDecimal("0.1200"),
+				AmortizationSystem.ALEMAN);
+
+		for (int i = 0; i < 12; i++) {
+			assertThat(schedule.principal(i)).isEqualTo(10000);
+		}
+		assertThat(schedule.interest(0)).isEqualTo(1200);
+		assertThat(schedule.interest(1)).isEqualTo(1100);
+		assertThat(schedule.interest(11)).isEqualTo(100);
+		assertThat(schedule.totalInterest()).isEqualTo(7800);
+		assertThat(schedule.balance(11)).isZero();
+	}
+
+	@Test
+	void americanoPaysOnlyInterestUntilMaturity() {
+		Schedule schedule = engine.schedule(new BigDecimal("1000.00"), 12, new BigDecimal("0.1200"),
+				AmortizationSystem.AMERICANO);
+
+		for (int i = 0; i < 11; i++) {
+			assertThat(schedule.principal(i)).isZero();
+			assertThat(schedule.interest(i)).isEqualTo(1000);
+			assertThat(schedule.balance(i)).isEqualTo(100000);
+		}
+		assertThat(schedule.principal(11)).isEqualTo(100000);
+		assertThat(schedule.payment(11)).isEqualTo(101000);
+		assertThat(schedule.balance(11)).isZero();
+		assertThat(schedule.totalInterest()).isEqualTo(12000);
+	}
+
+	@Test
+	void lastInstallmentTakesTheCentsThatDoNotDivideEvenly() {
+		Schedule aleman = engine.schedule(new BigDecimal("1000.00"), 3, new BigDecimal("0.0000"),
+				AmortizationSystem.ALEMAN);
+		assertThat(aleman.principal(0)).isEqualTo(33333);
+		assertThat(aleman.principal(1)).isEqualTo(33333);
+		assertThat(aleman.principal(2)).isEqualTo(33334);
+
+		Schedule frances = engine.schedule(new BigDecimal("1000.00"), 3, new BigDecimal("0.0000"),
+				AmortizationSystem.FRANCES);
+		assertThat(frances.principal(0)).isEqualTo(33334);
+		assertThat(frances.principal(1)).isEqualTo(33334);
+		assertThat(frances.principal(2)).isEqualTo(33332);
+		assertThat(frances.totalPrincipal()).isEqualTo(100000);
+	}
+
+	@Test
+	void sameConditionsShareTheCachedSchedule() {
+		Schedule first = engine.schedule(new BigDecimal("500.00"), 6, new BigDecimal("0.0500"),
+				AmortizationSystem.FRANCES);
+		Schedule second = engine.schedule(new BigDecimal("500.0"), 6, new BigDecimal("0.05"),
+				AmortizationSystem.FRANCES);
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void rejectsRatesWithMoreThanFourDecimals() {
+		assertThatThrownBy(() -> engine.schedule(new BigDecimal("1000.00"), 12, new BigDecimal("0.12345"),
+				AmortizationSystem.FRANCES))
+				.isInstanceOf(ArithmeticException.class);
+	}
+}
@@ -0,0 +1,83 @@
+package com.credit.application.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class CreditExposureTest {
+
+	private static final BigDecimal LIMIT = new BigDecimal("1000.00");
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final CreditExposure exposure = new CreditExposure(jdbcTemplate, LIMIT, 100);
+
+	@Test
+	void reserveIsAcceptedWhenTheUpsertReturnsTheCustomer() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+				.thenReturn(List.of(7L));
+
+		assertThat(exposure.reserve(7L, new BigDecimal("250.00"))).isTrue();
+	}
+
+	@Test
+	void reserveIsRejectedWhenTheLimitFiltersTheRow() {
+		// ni el INSERT ni el UPDATE devuelven la fila si el total supera el límite
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+				.thenReturn(List.of());
+
+		assertThat(exposure.reserve(7L, new BigDecimal("1000.01"))).isFalse();
+	}
+
+	@Test
+	void reserveAllChecksTheLimitOnBothInsertAndUpdate() {
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+		when(jdbcTemplate.queryForList(sql.capture(), eq(Long.class), args.capture()))
+				.thenReturn(List.of(3L));
+
+		Set<Long> accepted = exposure.reserveAll(
+				new TreeMap<>(Map.of(250L, new BigDecimal("10.50"), 3L, new BigDecimal("990.00"))),
+				Map.of(250L, 2, 3L, 1));
+
+		assertThat(accepted).containsExactly(3L);
+		// cliente nuevo: el INSERT solo entra si el monto del lote cabe en el límite
+		assertThat(sql.getValue()).contains("WHERE u.exposure <= ?");
+		// cliente existente: el UPDATE solo suma si el total sigue dentro del límite
+		assertThat(sql.getValue()).contains("WHERE e.exposure + excluded.exposure <= ?");
+		Object[] values = args.getValue();
+		assertThat((Long[]) values[0]).containsExactly(3L, 250L);
+		assertThat((Integer[]) values[1]).containsExactly(1, 2);
+		assertThat((String[]) values[2]).containsExactly("990.00", "10.50");
+		assertThat(values[4]).isEqualTo(100L);
+		assertThat(values[5]).isEqualTo(LIMIT);
+		assertThat(values[6]).isEqualTo(LIMIT);
+	}
+
+	@Test
+	void reserveAllWithoutCustomersSkipsTheDatabase() {
+		assertThat(exposure.reserveAll(new TreeMap<>(), Map.of())).isEmpty();
+		verifyNoInteractions(jdbcTemplate);
+	}
+
+	@Test
+	void releaseTakesThePartitionLockOfTheCustomer() {
+		exposure.release(250L, new BigDecimal("10.50"));
+
+		verify(jdbcTemplate).update(anyString(), eq(exposure.lockKey(2)), eq(new BigDecimal("10.50")), eq(250L));
+	}
+}
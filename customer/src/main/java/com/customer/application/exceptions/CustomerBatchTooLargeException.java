@@ -0,0 +1,15 @@
+package com.customer.application.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que se lanza cuando una búsqueda por lote pide más clientes que el
+ * máximo permitido. Se responde como 400: el pedido debe dividirse.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CustomerBatchTooLargeException extends IllegalArgumentException {
+    public CustomerBatchTooLargeException(int maxBatchSize) {
+        super(String.format("No se pueden pedir más de %d clientes por consulta", maxBatchSize));
+    }
+}
@@ -1,5 +1,8 @@
 package com.customer.application.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
 /**
  * Excepción que se lanza cuando no se puede encontrar un cliente en el sistema.
  *
@@ -12,8 +15,11 @@ package com.customer.application.exceptions;
  *
  * Con causa:
  * throw new CustomerNotFoundException(new SQLException(), "ID: 123");
+ *
+ * Se responde como 404 para que los clientes del servicio distingan un cliente
+ * inexistente de un error.
  */
-
+@ResponseStatus(HttpStatus.NOT_FOUND)
 public class CustomerNotFoundException extends RuntimeException {
     /**
      * Identificador del cliente que no fue encontrado.
@@ -1,9 +1,12 @@
 package com.customer.application.service;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import com.commons.dto.request.SaveCustomer;
+import com.commons.dto.response.CursorPage;
 import com.commons.dto.response.GetAddress;
 import com.commons.dto.response.GetCustomerDetail;
 import com.customer.application.dto.request.UpdateAddress;
@@ -24,6 +27,16 @@ public interface CustomerService {
      */
     Page<GetCustomer> findAll(Pageable pageable);
 
+    /**
+     * Obtiene los clientes activos paginados por cursor (keyset), ordenados por
+     * fecha de creación. El costo de cada página no depende de su profundidad.
+     *
+     * @param cursor Token devuelto por la página anterior; vacío para la primera.
+     * @param size   Tamaño de página.
+     * @return Página de clientes con el cursor de la siguiente.
+     */
+    CursorPage<GetCustomer> findAll(String cursor, int size);
+
     /**
      * Obtiene el perfil completo de un cliente incluyendo su dirección.
      * 
@@ -45,6 +58,17 @@ public interface CustomerService {
 
     GetCustomerDetail findByIdCustomerDetail(String email);
 
+    /**
+     * Obtiene en una sola consulta los clientes activos con los IDs o emails
+     * indicados. Los que no existen o están inactivos se omiten, sin error.
+     *
+     * @param ids    IDs de clientes a buscar (puede ser vacío)
+     * @param emails Emails de clientes a buscar (puede ser vacío)
+     * @return Clientes encontrados con todos sus datos y dirección
+     * @throws IllegalArgumentException Si se piden más de 100 clientes (400)
+     */
+    List<GetCustomerDetail> findAllByIdsOrEmails(List<Long> ids, List<String> emails);
+
     /**
      * Obtiene la información básica de un cliente.
      * 
@@ -63,6 +87,16 @@ public interface CustomerService {
      */
     GetCustomer findById(Long id);
 
+    /**
+     * Busca un cliente por su ID incluyendo los dados de baja y los archivados.
+     *
+     * @param id Identificador único del cliente
+     * @return Objeto {@link GetCustomer} con los datos esenciales del cliente
+     * @throws CustomerNotFoundException Si no existe un cliente con el ID
+     *                                   proporcionado, ni activo ni archivado
+     */
+    GetCustomer findByIdIncludingArchived(Long id);
+
     /**
      * Busca una Dirrecion de un Cliente por su indentifacor unico.
      * Si el cliente no es encontrado, se lanza una excepción de tipo
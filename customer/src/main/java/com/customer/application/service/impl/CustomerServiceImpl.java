@@ -1,6 +1,7 @@
 package com.customer.application.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,11 +9,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.commons.dto.request.SaveCustomer;
+import com.commons.dto.response.CursorPage;
 import com.commons.dto.response.GetAddress;
 import com.commons.dto.response.GetCustomerDetail;
+import com.commons.pagination.KeysetCursor;
 import com.customer.application.dto.request.UpdateAddress;
 import com.customer.application.dto.request.UpdateCustomer;
 import com.customer.application.dto.response.GetCustomer;
+import com.customer.application.exceptions.CustomerBatchTooLargeException;
 import com.customer.application.exceptions.CustomerNotFoundException;
 import com.customer.application.mapper.CustomerMapper;
 import com.customer.application.service.CustomerService;
@@ -30,6 +34,9 @@ import com.customer.domain.repository.CustomerRepository;
 @Transactional
 @Service
 public class CustomerServiceImpl implements CustomerService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final CustomerRepository customerRepository;
 
     /**
@@ -62,6 +69,37 @@ public class CustomerServiceImpl implements CustomerService {
         return customerPage.map(CustomerMapper::toDtoFromEntity);
     }
 
+    /**
+     * Obtiene los clientes activos paginados por cursor. Se pide una fila de más
+     * para saber si existe una página siguiente sin ejecutar un COUNT. A
+     * diferencia del modo por páginas, una página vacía no es un error: indica el
+     * final del recorrido.
+     *
+     * @param cursor Token devuelto por la página anterior; vacío para la primera.
+     * @param size   Tamaño de página, entre 1 y 100.
+     * @return Página de clientes con el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<GetCustomer> findAll(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Customer> customers = after == null
+                ? customerRepository.findActiveFirst(pageSize + 1)
+                : customerRepository.findActiveAfter(after.sortKey(), after.id(), pageSize + 1);
+
+        String nextCursor = null;
+        if (customers.size() > pageSize) {
+            customers = customers.subList(0, pageSize);
+            Customer last = customers.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(customers.stream().map(CustomerMapper::toDtoFromEntity).toList(), pageSize,
+                nextCursor);
+    }
+
     /**
      * Obtiene el detalle completo de un cliente incluyendo información de
      * dirección.
@@ -90,6 +128,38 @@ public class CustomerServiceImpl implements CustomerService {
                 customerRepository.findByEmail(email).orElseThrow(() -> new CustomerNotFoundException(email)));
     }
 
+    /**
+     * Obtiene los clientes activos con los IDs o emails indicados con una única
+     * consulta {@code IN}, para que quien necesite los datos de muchos clientes
+     * no haga un pedido por cliente.
+     *
+     * @param ids    IDs de clientes a buscar (puede ser vacío)
+     * @param emails Emails de clientes a buscar (puede ser vacío)
+     * @return Clientes encontrados; los inexistentes se omiten
+     * @throws CustomerBatchTooLargeException Si se piden más de
+     *                                        {@value #MAX_BATCH_SIZE} clientes
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<GetCustomerDetail> findAllByIdsOrEmails(List<Long> ids, List<String> emails) {
+        List<Long> distinctIds = ids == null ? List.of() : ids.stream().distinct().toList();
+        List<String> distinctEmails = emails == null ? List.of() : emails.stream().distinct().toList();
+        if (distinctIds.size() + distinctEmails.size() > MAX_BATCH_SIZE) {
+            throw new CustomerBatchTooLargeException(MAX_BATCH_SIZE);
+        }
+        List<Customer> customers;
+        if (distinctIds.isEmpty() && distinctEmails.isEmpty()) {
+            return List.of();
+        } else if (distinctEmails.isEmpty()) {
+            customers = customerRepository.findActiveByIdIn(distinctIds);
+        } else if (distinctIds.isEmpty()) {
+            customers = customerRepository.findActiveByEmailIn(distinctEmails);
+        } else {
+            customers = customerRepository.findActiveByIdInOrEmailIn(distinctIds, distinctEmails);
+        }
+        return customers.stream().map(CustomerMapper::toDtoFCustomerDetail).toList();
+    }
+
     /**
      * Obtiene la información básica de un cliente verificando su estado activo.
      * Versión optimizada para operaciones frecuentes que solo requieren datos
@@ -115,6 +185,23 @@ public class CustomerServiceImpl implements CustomerService {
         return CustomerMapper.toDtoFromEntity(findByIdEntity(id));
     }
 
+    /**
+     * Busca un cliente por su ID sin importar su estado: primero en la tabla
+     * principal y, si ya fue archivado, en la tabla de archivo.
+     *
+     * @param id Identificador único del cliente
+     * @return {@link GetCustomer} DTO
+     * @throws CustomerNotFoundException Si no existe un cliente con el ID, ni
+     *                                   activo ni archivado
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public GetCustomer findByIdIncludingArchived(Long id) {
+        return CustomerMapper.toDtoFromEntity(customerRepository.findById(id)
+                .or(() -> customerRepository.findArchivedById(id))
+                .orElseThrow(() -> new CustomerNotFoundException(String.valueOf(id))));
+    }
+
     /**
      * Busca una Dirrecion de un cliente activo por su indentificador unico
      * Este método verifica que el cliente encontrado esté marcado como activo
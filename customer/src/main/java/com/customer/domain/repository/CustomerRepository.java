@@ -1,5 +1,8 @@
 package com.customer.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -15,10 +18,41 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query(value = "SELECT * FROM customers c WHERE c.is_active = true", nativeQuery = true)
     Page<Customer> findActiveAll(Pageable pageable);
 
+    /**
+     * Primera página de clientes activos en modo cursor, ordenados por fecha de
+     * creación e ID.
+     */
+    @Query(value = "SELECT * FROM customers c WHERE c.is_active = true "
+            + "ORDER BY c.create_at, c.id LIMIT ?1", nativeQuery = true)
+    List<Customer> findActiveFirst(int limit);
+
+    /**
+     * Página de clientes activos posteriores a la clave (create_at, id) dada,
+     * resuelta con una búsqueda sobre el índice.
+     */
+    @Query(value = "SELECT * FROM customers c WHERE c.is_active = true AND (c.create_at, c.id) > (?1, ?2) "
+            + "ORDER BY c.create_at, c.id LIMIT ?3", nativeQuery = true)
+    List<Customer> findActiveAfter(LocalDateTime createdAt, long id, int limit);
+
     @Query(value = "SELECT * FROM customers c WHERE c.is_active = true AND c.id = ?1", nativeQuery = true)
     Optional<Customer> findActiveById(Long id);
 
+    /**
+     * Busca un cliente en la tabla de archivo.
+     */
+    @Query(value = "SELECT * FROM customers_archive c WHERE c.id = ?1", nativeQuery = true)
+    Optional<Customer> findArchivedById(Long id);
+
     @Query(value = "SELECT * FROM customers c WHERE c.is_active = true AND c.email = ?1", nativeQuery = true)
     Optional<Customer> findByEmail(String email);
 
+    @Query("SELECT c FROM Customer c WHERE c.isActive = true AND c.id IN ?1")
+    List<Customer> findActiveByIdIn(Collection<Long> ids);
+
+    @Query("SELECT c FROM Customer c WHERE c.isActive = true AND c.email IN ?1")
+    List<Customer> findActiveByEmailIn(Collection<String> emails);
+
+    @Query("SELECT c FROM Customer c WHERE c.isActive = true AND (c.id IN ?1 OR c.email IN ?2)")
+    List<Customer> findActiveByIdInOrEmailIn(Collection<Long> ids, Collection<String> emails);
+
 }
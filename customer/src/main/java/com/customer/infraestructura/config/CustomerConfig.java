@@ -1,11 +1,35 @@
 package com.customer.infraestructura.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.commons.archive.SoftDeleteArchiver;
+
 import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
 
 @Configuration
+@EnableScheduling
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO)
 public class CustomerConfig {
 
+    /**
+     * Archiva en {@code customers_archive} las filas dadas de baja hace más que
+     * la retención configurada.
+     */
+    @Bean
+    public SoftDeleteArchiver customerArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${customer.archive.retention-days:30}") long retentionDays,
+            @Value("${customer.archive.batch-size:500}") int batchSize,
+            @Value("${customer.archive.pause-ms:200}") long pauseMs,
+            @Value("${customer.archive.max-batches:100}") int maxBatches,
+            @Value("${customer.archive.interval-ms:600000}") long intervalMs) {
+        return new SoftDeleteArchiver(jdbcTemplate, transactionManager, "customers",
+                "id, name, last_name, email, mobile, country, state, city, postal_code, street, street_number, apartment, floor, additional_info, is_active, create_at, update_at, deleted_at",
+                new SoftDeleteArchiver.Settings(retentionDays, batchSize, pauseMs, maxBatches, intervalMs));
+    }
 }
@@ -1,6 +1,7 @@
 package com.customer.infraestructura.controller;
 
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import com.commons.dto.request.SaveCustomer;
+import com.commons.dto.response.CursorPage;
 import com.commons.dto.response.GetAddress;
 import com.commons.dto.response.GetCustomerDetail;
 import com.customer.application.dto.request.UpdateAddress;
@@ -54,6 +56,20 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.findAll(pageable));
     }
 
+    /**
+     * Obtiene los clientes paginados por cursor. Se activa al enviar el parámetro
+     * {@code cursor} (vacío para la primera página).
+     *
+     * @param cursor Token opaco devuelto por la página anterior.
+     * @param size   Tamaño de página.
+     * @return Página de clientes activos con el cursor de la siguiente.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<GetCustomer>> findAll(@RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(customerService.findAll(cursor, size));
+    }
+
     /**
      * Busca un cliente por su identificador único.
      *
@@ -66,6 +82,18 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.findById(id));
     }
 
+    /**
+     * Busca un cliente por su identificador incluyendo los dados de baja y los
+     * archivados.
+     *
+     * @param id ID del cliente.
+     * @return Datos del cliente encontrado.
+     */
+    @GetMapping(value = "/{id}", params = "include_archived=true")
+    public ResponseEntity<GetCustomer> findByIdIncludingArchived(@PathVariable Long id) {
+        return ResponseEntity.ok(customerService.findByIdIncludingArchived(id));
+    }
+
     /**
      * Busca un cliente con todos sus datos por su identificador único.
      *
@@ -78,6 +106,20 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.findByIdCustomerDetail(email));
     }
 
+    /**
+     * Obtiene varios clientes con todos sus datos en un solo pedido.
+     *
+     * @param ids    IDs de los clientes.
+     * @param emails Emails de los clientes.
+     * @return Clientes activos encontrados; los inexistentes se omiten.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<GetCustomerDetail>> findAllByIdsOrEmails(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) List<String> emails) {
+        return ResponseEntity.ok(customerService.findAllByIdsOrEmails(ids, emails));
+    }
+
     @GetMapping("/{id}/address")
     public ResponseEntity<GetAddress> findByIdAddress(@PathVariable Long id) {
         return ResponseEntity.ok(customerService.findByIdAddress(id));
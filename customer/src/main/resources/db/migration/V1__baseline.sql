@@ -0,0 +1,25 @@
+-- Esquema base del servicio de clientes, equivalente al que generaba Hibernate
+-- con ddl-auto: update. Las bases existentes lo marcan como aplicado al
+-- migrar por primera vez (baseline-on-migrate).
+
+CREATE TABLE customers (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name             varchar(100) NOT NULL,
+    last_name        varchar(100) NOT NULL,
+    email            varchar(150) NOT NULL,
+    mobile           varchar(20),
+    country          varchar(50)  NOT NULL,
+    state            varchar(50)  NOT NULL,
+    city             varchar(50)  NOT NULL,
+    postal_code      varchar(20)  NOT NULL,
+    street           varchar(100) NOT NULL,
+    street_number    varchar(10)  NOT NULL,
+    apartment        varchar(10),
+    floor            varchar(5),
+    additional_info  varchar(200),
+    is_active        boolean      NOT NULL,
+    create_at        timestamp(6) NOT NULL,
+    update_at        timestamp(6),
+    deleted_at       timestamp(6),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
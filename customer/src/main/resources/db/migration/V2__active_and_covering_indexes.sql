@@ -0,0 +1,13 @@
+-- Índices parciales sobre los clientes activos. Reemplazan al que creaba
+-- Hibernate desde la anotación @Index.
+
+DROP INDEX IF EXISTS idx_customers_create_at_id;
+
+-- Listado por cursor y COUNT de findActiveAll (index-only sobre el parcial).
+CREATE INDEX idx_customers_active_create_at_id
+    ON customers (create_at, id) WHERE is_active = true;
+
+-- findByEmail: solo clientes activos; cubre el ID para resolver la existencia
+-- de un cliente sin leer la tabla.
+CREATE UNIQUE INDEX idx_customers_active_email
+    ON customers (email) INCLUDE (id) WHERE is_active = true;
@@ -0,0 +1,12 @@
+-- Secuencia de incremento 50 para que Hibernate reserve 50 IDs por nextval y
+-- agrupe los INSERT en batches JDBC; arranca por encima de MAX(id).
+
+CREATE SEQUENCE customers_seq AS bigint INCREMENT BY 50 MINVALUE 1;
+
+LOCK TABLE customers IN EXCLUSIVE MODE;
+
+SELECT setval('customers_seq', COALESCE((SELECT MAX(id) FROM customers), 0) + 50);
+
+ALTER TABLE customers ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE customers ALTER COLUMN id SET DEFAULT nextval('customers_seq');
+ALTER SEQUENCE customers_seq OWNED BY customers.id;
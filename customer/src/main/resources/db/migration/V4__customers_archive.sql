@@ -0,0 +1,15 @@
+-- Archivo de clientes dados de baja. El archivador mueve las filas con baja
+-- lógica más vieja que el período de retención desde customers a customers_archive,
+-- de modo que la tabla principal y sus índices solo contienen datos vivos.
+-- Las columnas son las de customers más la fecha de archivo; un cambio de columnas
+-- en customers debe replicarse aquí y en el archivador.
+
+CREATE TABLE customers_archive (LIKE customers);
+
+ALTER TABLE customers_archive
+    ADD COLUMN archived_at timestamp(6) NOT NULL DEFAULT now(),
+    ADD PRIMARY KEY (id);
+
+-- Filas pendientes de archivar: solo las dadas de baja.
+CREATE INDEX idx_customers_inactive_deleted_at
+    ON customers (deleted_at) WHERE is_active = false;